@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.function.Consumer;
 
 import core.Algorithm;
+import core.JMetalRandom;
 import core.NonDominatedSolutionListArchive;
 import core.Problem;
 import core.Solution;
@@ -23,6 +24,7 @@ public class RandomSearch<S extends Solution<?>> implements Algorithm<List<S>>,
 	private int stagnantStop = Integer.MAX_VALUE;
 	public Consumer<ZAlgorithm> monitor;
 	private String name = "RS";
+	private JMetalRandom random = null;
 
 	/** Constructor */
 	public RandomSearch(Problem<S> problem, int maxEvaluations) {
@@ -44,6 +46,14 @@ public class RandomSearch<S extends Solution<?>> implements Algorithm<List<S>>,
 
 	@Override
 	public void run() {
+		if (random != null) {
+			random.runBound(this::search);
+		} else {
+			search();
+		}
+	}
+
+	private void search() {
 		while (!isStopConditionReached()) {
 			S newSolution = problem.createSolution();
 			problem.evaluate(newSolution);
@@ -84,6 +94,27 @@ public class RandomSearch<S extends Solution<?>> implements Algorithm<List<S>>,
 		return nonDominatedArchive.getSolutionList();
 	}
 
+	/**
+	 * Random numbers of this run, bound to its thread (see {@link JMetalRandom#runBound(Runnable)});
+	 * by default, the run uses the instance of the calling thread
+	 */
+	public void setRandom(JMetalRandom random) {
+		this.random = random;
+	}
+
+	/**
+	 * Keeps the hypervolume of the archive up to date for a fixed reference point (bi-objective
+	 * problems), see {@link #getArchiveHypervolume()}
+	 */
+	public void trackArchiveHypervolume(double[] referencePoint) {
+		nonDominatedArchive.trackHypervolume(referencePoint);
+	}
+
+	@Override
+	public double getArchiveHypervolume() {
+		return nonDominatedArchive.getHypervolume();
+	}
+
 	@Override
 	public Problem getProblem() {
 		return problem;
@@ -1,18 +1,25 @@
 package algorithms;
 
 import core.AbstractGeneticAlgorithm;
+import core.Check;
 import core.CrossoverOperator;
+import core.DeltaEvaluationProblem;
+import core.JMetalRandom;
 import core.MutationOperator;
 import core.NonDominatedSolutionListArchive;
 import core.Problem;
-import core.Ranking;
+import core.ReplacementStrategy;
 import core.SelectionOperator;
+import core.SequentialSolutionListEvaluator;
 import core.Solution;
+import core.SolutionListEvaluator;
 import core.SolutionListUtils;
+import core.SolutionPool;
 import indicator.Hypervolume;
-import operators.MergeNonDominatedSortRanking;
+import operators.HypervolumeContributionReplacement;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.function.Consumer;
@@ -33,6 +40,7 @@ public class SMSEMOA<S extends Solution<?>> extends AbstractGeneticAlgorithm<S,
 	protected int evaluations;
 
 	private Hypervolume<S> hypervolume;
+	protected ReplacementStrategy<S> replacementStrategy;
 	protected Comparator<S> dominanceComparator;
 
 
@@ -42,6 +50,12 @@ public class SMSEMOA<S extends Solution<?>> extends AbstractGeneticAlgorithm<S,
 	
 	protected String savePath = null;
 	private int sampleInterval = 100000;
+	private JMetalRandom random = null;
+	private SolutionListEvaluator<S> evaluator = null;
+	private int offspringBatchSize = 1;
+	private boolean deltaEvaluation = false;
+	private SolutionPool<S> solutionPool = null;
+	private final List<S> discarded = new ArrayList<>();
 	private Consumer<ZAlgorithm> monitor = null;
 	public void setMonitor(Consumer<ZAlgorithm> m) {this.monitor=m;};
 	public Consumer<ZAlgorithm> getMonitor() {return monitor;}
@@ -65,41 +79,94 @@ public class SMSEMOA<S extends Solution<?>> extends AbstractGeneticAlgorithm<S,
 		this.selection = selectionOperator;
 		this.dominanceComparator = dominanceComparator;
 		this.hypervolume = hypervolumeImplementation;
+		this.replacementStrategy = new HypervolumeContributionReplacement<>(hypervolumeImplementation);
 		this.archive = new NonDominatedSolutionListArchive<S>();
 	}
 	
 	@Override
 	public void run() {
-		List<S> offspringPopulation;
-		List<S> matingPopulation;
+		withRandom(() -> {
+			List<S> offspringPopulation;
+			List<S> matingPopulation;
+
+			population = createInitialPopulation();
+			population = evaluatePopulation(population);
+			initProgress();
+			while (!isStoppingConditionReached()) {
+				if (offspringBatchSize > 1) {
+					batchStep();
+					continue;
+				}
+				matingPopulation = selection(population);
+				offspringPopulation = reproduction(matingPopulation);
+				offspringPopulation = evaluateOffspring(offspringPopulation, matingPopulation);
+				population = replacement(population, offspringPopulation);
+				updateProgress();
+			}
+		});
+	}
+
+	public void generationalInit() {
+		withRandom(() -> {
+			population = createInitialPopulation();
+			population = evaluatePopulation(population);
+			initProgress();
+		});
+	}
+	
+	public void generationalRun() {
+		withRandom(() -> {
+			if (offspringBatchSize > 1) {
+				batchStep();
+				return;
+			}
+			List<S> offspringPopulation;
+			List<S> matingPopulation;
 
-		population = createInitialPopulation();
-		population = evaluatePopulation(population);
-		initProgress();
-		while (!isStoppingConditionReached()) {
 			matingPopulation = selection(population);
 			offspringPopulation = reproduction(matingPopulation);
-			offspringPopulation = evaluatePopulation(offspringPopulation);
+			offspringPopulation = evaluateOffspring(offspringPopulation, matingPopulation);
 			population = replacement(population, offspringPopulation);
 			updateProgress();
-		}
+		});
 	}
 
-	public void generationalInit() {
-		population = createInitialPopulation();
-		population = evaluatePopulation(population);
-		initProgress();
+	/**
+	 * A step with a batch of offspring (see {@link #setOffspringBatchSize(int)}): the offspring are all
+	 * bred from the current population and evaluated together, then replace one after the other, as
+	 * long as the stopping condition is not reached
+	 */
+	private void batchStep() {
+		int size = Math.max(1, Math.min(offspringBatchSize, maxEvaluations - evaluations));
+		List<S> offspringPopulation = new ArrayList<>(size);
+		List<S> references = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			List<S> matingPopulation = selection(population);
+			for (S offspring : reproduction(matingPopulation)) {
+				offspringPopulation.add(offspring);
+				references.add(matingPopulation.get(0));
+			}
+		}
+		evaluateOffspringFrom(offspringPopulation, references);
+
+		for (S offspring : offspringPopulation) {
+			if (isStoppingConditionReached()) {
+				break;
+			}
+			List<S> single = new ArrayList<>(1);
+			single.add(offspring);
+			population = replacement(population, single);
+			updateProgress();
+		}
 	}
-	
-	public void generationalRun() {
-		List<S> offspringPopulation;
-	    List<S> matingPopulation;
-		
-		matingPopulation = selection(population);
-		offspringPopulation = reproduction(matingPopulation);
-		offspringPopulation = evaluatePopulation(offspringPopulation);
-	    population = replacement(population, offspringPopulation);
-	    updateProgress();
+
+	/** Runs the body with the random numbers of this run, see {@link #setRandom(JMetalRandom)} */
+	private void withRandom(Runnable body) {
+		if (random == null) {
+			body.run();
+		} else {
+			random.runBound(body);
+		}
 	}
 	
 	@Override
@@ -128,12 +195,50 @@ public class SMSEMOA<S extends Solution<?>> extends AbstractGeneticAlgorithm<S,
 
 	@Override
 	protected List<S> evaluatePopulation(List<S> population) {
+		if (evaluator != null) {
+			return evaluator.evaluate(population, getProblem());
+		}
 		for (S solution : population) {
 			getProblem().evaluate(solution);
 		}
 		return population;
 	}
 
+	/**
+	 * Evaluates the offspring, from the objectives of the first parent when delta evaluation is on
+	 * and the problem supports it (see {@link #setDeltaEvaluation(boolean)})
+	 */
+	@SuppressWarnings("unchecked")
+	protected List<S> evaluateOffspring(List<S> offspringPopulation, List<S> matingPopulation) {
+		if (!usesDeltaEvaluation()) {
+			return evaluatePopulation(offspringPopulation);
+		}
+		DeltaEvaluationProblem<S> problem = (DeltaEvaluationProblem<S>) getProblem();
+		if (evaluator != null) {
+			return evaluator.evaluate(offspringPopulation,
+					Collections.nCopies(offspringPopulation.size(), matingPopulation.get(0)), problem);
+		}
+		for (S solution : offspringPopulation) {
+			problem.evaluate(solution, matingPopulation.get(0));
+		}
+		return offspringPopulation;
+	}
+
+	/** Evaluates each offspring from the objectives of the reference at the same index (its first parent) */
+	@SuppressWarnings("unchecked")
+	private List<S> evaluateOffspringFrom(List<S> offspringPopulation, List<S> references) {
+		if (!usesDeltaEvaluation()) {
+			return evaluatePopulation(offspringPopulation);
+		}
+		SolutionListEvaluator<S> evaluator = this.evaluator != null ? this.evaluator
+				: new SequentialSolutionListEvaluator<S>();
+		return evaluator.evaluate(offspringPopulation, references, (DeltaEvaluationProblem<S>) getProblem());
+	}
+
+	private boolean usesDeltaEvaluation() {
+		return deltaEvaluation && getProblem() instanceof DeltaEvaluationProblem;
+	}
+
 	@Override
 	protected List<S> selection(List<S> population) {
 		List<S> matingPopulation = new ArrayList<>(2);
@@ -153,7 +258,13 @@ public class SMSEMOA<S extends Solution<?>> extends AbstractGeneticAlgorithm<S,
 		parents.add(population.get(0));
 		parents.add(population.get(1));
 
-		List<S> offspring = crossover.execute(parents);
+		S target = solutionPool != null ? solutionPool.take() : null;
+		List<S> offspring = target != null ? crossover.execute(parents, Collections.singletonList(target))
+				: crossover.execute(parents, 1);
+		if (target != null && offspring.get(0) != target) {
+			// not reused by the crossover
+			solutionPool.release(target);
+		}
 
 		mutation.execute(offspring.get(0));
 
@@ -163,27 +274,8 @@ public class SMSEMOA<S extends Solution<?>> extends AbstractGeneticAlgorithm<S,
 
 	@Override
 	protected List<S> replacement(List<S> population, List<S> offspringPopulation) {
-		List<S> jointPopulation = new ArrayList<>();
-		jointPopulation.addAll(population);
-		jointPopulation.addAll(offspringPopulation);
-
-		Ranking<S> ranking = new MergeNonDominatedSortRanking<>();
-		ranking.compute(jointPopulation);
-
-		List<S> lastSubfront = ranking.getSubFront(ranking.getNumberOfSubFronts() - 1);
-
-		lastSubfront = hypervolume.computeHypervolumeContribution(lastSubfront, jointPopulation);
-
-		List<S> resultPopulation = new ArrayList<>();
-		for (int i = 0; i < ranking.getNumberOfSubFronts() - 1; i++) {
-			for (S solution : ranking.getSubFront(i)) {
-				resultPopulation.add(solution);
-			}
-		}
-
-		for (int i = 0; i < lastSubfront.size() - 1; i++) {
-			resultPopulation.add(lastSubfront.get(i));
-		}
+		List<S> resultPopulation = solutionPool == null ? replacementStrategy.replace(population, offspringPopulation)
+				: replacementStrategy.replace(population, offspringPopulation, discarded::add);
 		if (archive != null) {
 			for (S ind : offspringPopulation) {
 				boolean updated = archive.add(ind);
@@ -191,13 +283,121 @@ public class SMSEMOA<S extends Solution<?>> extends AbstractGeneticAlgorithm<S,
 				else nonUpdateEvaluationSum = 0;
 			}
 		}
+		if (solutionPool != null) {
+			recycleDiscarded();
+		}
 
 		return resultPopulation;
 	}
 
+	/**
+	 * Releases the solutions discarded by the last replacement to the pool, except those that the
+	 * archive holds (checked after the offspring are added to it)
+	 */
+	private void recycleDiscarded() {
+		for (S solution : discarded) {
+			if (archive == null || !archive.containsInstance(solution)) {
+				solutionPool.release(solution);
+			}
+		}
+		discarded.clear();
+	}
+
 	public List<S> getArchive() {
 		return archive.getSolutionList();
 	}
+
+	/**
+	 * Replaces the archive (e.g. by one with the {@link NonDominatedSolutionListArchive.Backend#TREE}
+	 * backend); must be called before the run starts and before
+	 * {@link #trackArchiveHypervolume(double[])}
+	 */
+	public void setArchive(NonDominatedSolutionListArchive<S> archive) {
+		this.archive = archive;
+	}
+
+	/**
+	 * Random numbers of this run: the run binds them to its thread (see
+	 * {@link JMetalRandom#runBound(Runnable)}), so it shares no generator with the runs executed by
+	 * other threads. The operators should draw from the same instance. By default, the run uses the
+	 * instance of the calling thread.
+	 */
+	public void setRandom(JMetalRandom random) {
+		this.random = random;
+	}
+
+	public JMetalRandom getRandom() {
+		return random;
+	}
+
+	/**
+	 * Evaluator of the initial population and of the offspring, e.g. a
+	 * {@link core.ForkJoinSolutionListEvaluator} to evaluate them in parallel. By default they are
+	 * evaluated one after the other in the thread of the run.
+	 */
+	public void setEvaluator(SolutionListEvaluator<S> evaluator) {
+		this.evaluator = evaluator;
+	}
+
+	public SolutionListEvaluator<S> getEvaluator() {
+		return evaluator;
+	}
+
+	/**
+	 * Number of offspring bred from the population before they are evaluated and inserted one after
+	 * the other, so that a parallel evaluator has several solutions to evaluate at a time. The
+	 * default, 1, is the steady-state SMS-EMOA; larger batches breed from a population that is up to
+	 * batchSize - 1 replacements old.
+	 */
+	public void setOffspringBatchSize(int offspringBatchSize) {
+		Check.that(offspringBatchSize >= 1, "The offspring batch size must be at least 1: " + offspringBatchSize);
+		this.offspringBatchSize = offspringBatchSize;
+	}
+
+	public int getOffspringBatchSize() {
+		return offspringBatchSize;
+	}
+
+	/**
+	 * Evaluates the offspring from the objectives of their first parent when the problem is a
+	 * {@link DeltaEvaluationProblem}. The objectives of a solution then depend on the parents it was
+	 * bred from, up to rounding errors, so the archive may differ from the one of a run with complete
+	 * evaluations. Off by default.
+	 */
+	public void setDeltaEvaluation(boolean deltaEvaluation) {
+		this.deltaEvaluation = deltaEvaluation;
+	}
+
+	public boolean isDeltaEvaluation() {
+		return deltaEvaluation;
+	}
+
+	/**
+	 * Pool of the solutions discarded by the replacement and not held by the archive, overwritten by
+	 * the next offspring instead of new copies of the parents (see
+	 * {@link CrossoverOperator#execute(List, List)}); the search is the same with or without it. Must
+	 * be set before the run starts, with a pool of its own. By default there is none.
+	 */
+	public void setSolutionPool(SolutionPool<S> solutionPool) {
+		this.solutionPool = solutionPool;
+	}
+
+	public SolutionPool<S> getSolutionPool() {
+		return solutionPool;
+	}
+
+	/**
+	 * Keeps the hypervolume of the archive up to date for a fixed reference point (bi-objective
+	 * problems), see {@link #getArchiveHypervolume()}
+	 */
+	public void trackArchiveHypervolume(double[] referencePoint) {
+		archive.trackHypervolume(referencePoint);
+	}
+
+	@Override
+	public double getArchiveHypervolume() {
+		return archive.getHypervolume();
+	}
 	
 	@Override
 	public List<S> getResult() {
@@ -248,6 +448,18 @@ public class SMSEMOA<S extends Solution<?>> extends AbstractGeneticAlgorithm<S,
 		this.t = t;
 	}
 	
+	public ReplacementStrategy<S> getReplacementStrategy() {
+		return replacementStrategy;
+	}
+
+	/**
+	 * Sets the replacement step, e.g. an {@link operators.IncrementalHypervolumeReplacement}. Must be called
+	 * before the run starts.
+	 */
+	public void setReplacementStrategy(ReplacementStrategy<S> replacementStrategy) {
+		this.replacementStrategy = replacementStrategy;
+	}
+
 	public int getStagnantStop() {
 		return stagnantStop;
 	}
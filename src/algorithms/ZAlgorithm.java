@@ -7,6 +7,8 @@ import core.Problem;
 public interface ZAlgorithm<S> extends Runnable {
 	public List<S> getPopulation();
 	public List<S> getArchive();
+	/** Hypervolume of the archive, when the algorithm tracks it for a fixed reference point */
+	public double getArchiveHypervolume();
 	public int getEvaluations();
 	public int getT();
 	public String getName();
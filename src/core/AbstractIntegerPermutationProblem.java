@@ -6,8 +6,9 @@ public abstract class AbstractIntegerPermutationProblem
     extends AbstractGenericProblem<PermutationSolution<Integer>> implements
     PermutationProblem<PermutationSolution<Integer>> {
 
+  /** The solutions are int arrays, see {@link IntArrayPermutationSolution} */
   @Override
   public PermutationSolution<Integer> createSolution() {
-    return new IntegerPermutationSolution(getLength(), getNumberOfObjectives()) ;
+    return new IntArrayPermutationSolution(getLength(), getNumberOfObjectives()) ;
   }
 }
@@ -0,0 +1,129 @@
+package core;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Hypervolume of a bi-objective non-dominated set (minimization) for a fixed reference point,
+ * updated as points are inserted into or removed from the set, so that reading it is O(1).
+ *
+ * <p>The set is seen as a list sorted by increasing first objective. Its hypervolume is the sum of
+ * the strips between each point and the next one (or the reference point for the last one), each
+ * strip being as high as the distance from the point to the reference point in the second
+ * objective; the region outside the box of the reference point is not counted. An insertion or a
+ * removal only changes the strips of the neighbours, which the owner of the list passes to the
+ * tracker. The updates use compensated summation, so that millions of them do not accumulate
+ * rounding errors.
+ *
+ * @param <S> Solution
+ */
+@SuppressWarnings("serial")
+public class BiObjectiveHypervolumeTracker<S extends Solution<?>> implements Serializable {
+  private final double[] referencePoint;
+  private double hypervolume = 0.0;
+  private double compensation = 0.0;
+
+  /**
+   * Constructor
+   *
+   * @param referencePoint The reference point
+   */
+  public BiObjectiveHypervolumeTracker(double[] referencePoint) {
+    Check.notNull(referencePoint);
+    Check.that(referencePoint.length == 2, "The reference point must have two objectives");
+    this.referencePoint = referencePoint.clone();
+  }
+
+  public double[] getReferencePoint() {
+    return referencePoint.clone();
+  }
+
+  /** Returns the hypervolume of the tracked set */
+  public double getHypervolume() {
+    return hypervolume + compensation;
+  }
+
+  /**
+   * Recomputes the hypervolume from scratch
+   *
+   * @param sortedSolutions The set, sorted by increasing first objective
+   */
+  public void reset(List<S> sortedSolutions) {
+    hypervolume = 0.0;
+    compensation = 0.0;
+
+    S previous = null;
+    for (S solution : sortedSolutions) {
+      add(strip(previous, solution));
+      previous = solution;
+    }
+    add(strip(previous, null));
+  }
+
+  /**
+   * Accounts for a solution inserted into the list
+   *
+   * @param previous The solution before it, or null
+   * @param solution The inserted solution
+   * @param next The solution after it, or null
+   */
+  public void inserted(S previous, S solution, S next) {
+    add(strip(previous, solution) + strip(solution, next) - strip(previous, next));
+  }
+
+  /**
+   * Accounts for a solution removed from the list
+   *
+   * @param previous The solution that was before it, or null
+   * @param solution The removed solution
+   * @param next The solution that was after it, or null
+   */
+  public void removed(S previous, S solution, S next) {
+    add(strip(previous, next) - strip(previous, solution) - strip(solution, next));
+  }
+
+  /**
+   * Accounts for a run of consecutive solutions removed from the list
+   *
+   * @param previous The solution that was before the run, or null
+   * @param solutions The removed solutions, in the order of the list
+   * @param next The solution that was after the run, or null
+   */
+  public void removed(S previous, List<S> solutions, S next) {
+    if (solutions.isEmpty()) {
+      return;
+    }
+
+    double area = strip(previous, solutions.get(0));
+    for (int i = 0; i < solutions.size(); i++) {
+      area += strip(solutions.get(i), i + 1 < solutions.size() ? solutions.get(i + 1) : next);
+    }
+    add(strip(previous, next) - area);
+  }
+
+  /**
+   * Area of the strip of a solution: from its first objective to the one of the next solution (or
+   * of the reference point), and from its second objective to the one of the reference point
+   */
+  private double strip(S solution, S next) {
+    if (solution == null) {
+      return 0.0;
+    }
+
+    double right = next == null ? referencePoint[0] : Math.min(next.objectives()[0], referencePoint[0]);
+    double width = right - solution.objectives()[0];
+    double height = referencePoint[1] - solution.objectives()[1];
+
+    return width > 0.0 && height > 0.0 ? width * height : 0.0;
+  }
+
+  private void add(double value) {
+    double sum = hypervolume + value;
+    if (Math.abs(hypervolume) >= Math.abs(value)) {
+      compensation += (hypervolume - sum) + value;
+    } else {
+      compensation += (value - sum) + hypervolume;
+    }
+    hypervolume = sum;
+  }
+}
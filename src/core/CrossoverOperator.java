@@ -1,6 +1,7 @@
 package core;
 
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,4 +17,37 @@ public interface CrossoverOperator<Source> extends Operator<List<Source>,List<So
 
   int getNumberOfRequiredParents() ;
   int getNumberOfGeneratedChildren() ;
+
+  /**
+   * Returns only the first numberOfChildren children of {@link #execute(Object)}, for the
+   * algorithms that do not use the others (e.g. the steady-state ones keep one child). The
+   * operators that override it copy the parents and build only the requested children, drawing
+   * the same random numbers as {@link #execute(Object)}, so the children are the same; by default
+   * all the children are built and the others dropped.
+   *
+   * @param numberOfChildren Between 1 and {@link #getNumberOfGeneratedChildren()}
+   */
+  default List<Source> execute(List<Source> parents, int numberOfChildren) {
+    checkNumberOfChildren(numberOfChildren) ;
+    List<Source> offspring = execute(parents) ;
+    return offspring.size() <= numberOfChildren ? offspring
+        : new ArrayList<>(offspring.subList(0, numberOfChildren)) ;
+  }
+
+  /**
+   * Same as {@link #execute(List, int)} with one child per target, but each child is written into
+   * its target (a solution no longer used by the algorithm, e.g. taken from a {@link SolutionPool})
+   * with {@link Solution#copyInto(Solution)} instead of a new copy of the parent; a null target
+   * stands for a new copy. The children are the same either way. By default the targets are not
+   * used, so the algorithm must check which children are its targets.
+   */
+  default List<Source> execute(List<Source> parents, List<Source> targets) {
+    return execute(parents, targets.size()) ;
+  }
+
+  default void checkNumberOfChildren(int numberOfChildren) {
+    Check.that(numberOfChildren >= 1 && numberOfChildren <= getNumberOfGeneratedChildren(),
+        "The number of children must be between 1 and " + getNumberOfGeneratedChildren()
+            + " instead of " + numberOfChildren) ;
+  }
 }
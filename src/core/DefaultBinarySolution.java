@@ -81,6 +81,36 @@ public class DefaultBinarySolution
     return new DefaultBinarySolution(this);
   }
 
+  /**
+   * Reuses the bit sets, the arrays and the attribute map of a target of the same class and sizes
+   */
+  @Override
+  public DefaultBinarySolution copyInto(Solution<BinarySet> target) {
+    if (!(target instanceof DefaultBinarySolution) || target == this
+        || target.variables().size() != variables().size()
+        || target.objectives().length != objectives().length
+        || target.constraints().length != constraints().length) {
+      return copy();
+    }
+    DefaultBinarySolution solution = (DefaultBinarySolution) target;
+    for (int i = 0; i < variables().size(); i++) {
+      if (solution.variables().get(i).getBinarySetLength() != variables().get(i).getBinarySetLength()) {
+        return copy();
+      }
+    }
+    for (int i = 0; i < variables().size(); i++) {
+      BinarySet bits = solution.variables().get(i);
+      bits.clear();
+      bits.or(variables().get(i));
+    }
+    solution.bitsPerVariable = bitsPerVariable;
+    System.arraycopy(objectives(), 0, solution.objectives(), 0, objectives().length);
+    System.arraycopy(constraints(), 0, solution.constraints(), 0, constraints().length);
+    solution.attributes.clear();
+    solution.attributes.putAll(attributes);
+    return solution;
+  }
+
   @Override
   public int getTotalNumberOfBits() {
     int sum = 0;
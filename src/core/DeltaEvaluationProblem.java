@@ -0,0 +1,19 @@
+package core;
+
+/**
+ * Problem that can evaluate a solution from the objectives of a similar solution that is already
+ * evaluated (typically one of its parents), faster than a complete evaluation when the two differ
+ * in a few variables
+ *
+ * @param <S> Encoding
+ */
+public interface DeltaEvaluationProblem<S> extends Problem<S> {
+  /**
+   * Evaluates the solution knowing that the reference, a solution of the same problem, holds the
+   * objectives of its variables. The result is the same as {@link #evaluate(Object)} up to rounding
+   * errors, which depend on the reference: the same variables reached from two references may get
+   * objectives that differ in the last bits. Implementations fall back to a complete evaluation
+   * when the solutions differ too much.
+   */
+  S evaluate(S solution, S reference) ;
+}
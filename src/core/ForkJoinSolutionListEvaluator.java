@@ -0,0 +1,107 @@
+package core;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Evaluates the solutions of a list in parallel on a fork-join pool, for CPU-bound problems. The
+ * list is split in chunks of about a quarter of the share of each thread (and at least
+ * {@code minimumChunkSize} solutions), so that the threads that finish first steal the chunks left.
+ * The problems that are not thread-safe (see {@link Problem#isThreadSafe()}) are evaluated
+ * sequentially in the calling thread.
+ */
+@SuppressWarnings("serial")
+public class ForkJoinSolutionListEvaluator<S> implements SolutionListEvaluator<S> {
+  private final transient ForkJoinPool pool ;
+  private final boolean ownPool ;
+  private final int minimumChunkSize ;
+
+  /** Constructor of an evaluator on the common pool */
+  public ForkJoinSolutionListEvaluator() {
+    this(ForkJoinPool.commonPool(), 1, false) ;
+  }
+
+  /** Constructor of an evaluator on its own pool of threads, stopped by {@link #shutdown()} */
+  public ForkJoinSolutionListEvaluator(int numberOfThreads) {
+    this(new ForkJoinPool(numberOfThreads), 1, true) ;
+  }
+
+  /** Constructor of an evaluator on the given pool, that {@link #shutdown()} leaves running */
+  public ForkJoinSolutionListEvaluator(ForkJoinPool pool, int minimumChunkSize) {
+    this(pool, minimumChunkSize, false) ;
+  }
+
+  private ForkJoinSolutionListEvaluator(ForkJoinPool pool, int minimumChunkSize, boolean ownPool) {
+    Check.notNull(pool) ;
+    Check.that(minimumChunkSize >= 1, "The minimum chunk size must be at least 1: " + minimumChunkSize) ;
+    this.pool = pool ;
+    this.minimumChunkSize = minimumChunkSize ;
+    this.ownPool = ownPool ;
+  }
+
+  @Override
+  public List<S> evaluate(List<S> solutionList, Problem<S> problem) {
+    if (!problem.isThreadSafe()) {
+      solutionList.forEach(problem::evaluate) ;
+    } else {
+      forEach(solutionList.size(), i -> problem.evaluate(solutionList.get(i))) ;
+    }
+    return solutionList ;
+  }
+
+  @Override
+  public List<S> evaluate(List<S> solutionList, List<S> references, DeltaEvaluationProblem<S> problem) {
+    if (!problem.isThreadSafe()) {
+      return SolutionListEvaluator.super.evaluate(solutionList, references, problem) ;
+    }
+    forEach(solutionList.size(), i -> problem.evaluate(solutionList.get(i), references.get(i))) ;
+    return solutionList ;
+  }
+
+  private void forEach(int size, IntConsumer action) {
+    int chunkSize = Math.max(minimumChunkSize, size / (4 * pool.getParallelism())) ;
+    if (size <= chunkSize) {
+      for (int i = 0; i < size; i++) {
+        action.accept(i) ;
+      }
+    } else {
+      pool.invoke(new Chunk(0, size, chunkSize, action)) ;
+    }
+  }
+
+  /** Solutions [from, to) of the list, split in two until they are at most chunkSize */
+  private static class Chunk extends RecursiveAction {
+    private final int from ;
+    private final int to ;
+    private final int chunkSize ;
+    private final transient IntConsumer action ;
+
+    Chunk(int from, int to, int chunkSize, IntConsumer action) {
+      this.from = from ;
+      this.to = to ;
+      this.chunkSize = chunkSize ;
+      this.action = action ;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= chunkSize) {
+        for (int i = from; i < to; i++) {
+          action.accept(i) ;
+        }
+      } else {
+        int middle = (from + to) >>> 1 ;
+        invokeAll(new Chunk(from, middle, chunkSize, action), new Chunk(middle, to, chunkSize, action)) ;
+      }
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    if (ownPool) {
+      pool.shutdown() ;
+    }
+  }
+}
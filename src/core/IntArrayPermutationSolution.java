@@ -0,0 +1,182 @@
+package core;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Permutation of the integers 0..n-1 stored in an int array, so that reading and changing it does
+ * not box the values: the operators and the problems that know this class use
+ * {@link #getValue(int)}, {@link #setValue(int, int)} and {@link #getPermutation()}. The others see
+ * the same permutation through {@link #variables()}, a list view backed by the array.
+ *
+ * <p>A random solution is drawn exactly as an {@link IntegerPermutationSolution} of the same length,
+ * so the same seed gives the same permutation with both classes.
+ */
+@SuppressWarnings("serial")
+public class IntArrayPermutationSolution implements PermutationSolution<Integer> {
+  private final int[] permutation;
+  private final double[] objectives;
+  private final double[] constraints;
+  /** Created on demand, most solutions never have attributes */
+  private Map<Object, Object> attributes;
+  private transient List<Integer> variables;
+
+  /** Constructor of a random permutation */
+  public IntArrayPermutationSolution(int permutationLength, int numberOfObjectives) {
+    this.permutation = new int[permutationLength];
+    this.objectives = new double[numberOfObjectives];
+    this.constraints = new double[0];
+
+    for (int j = 0; j < permutationLength; j++) {
+      permutation[j] = j;
+    }
+    JMetalRandom random = JMetalRandom.getInstance();
+    for (int j = permutationLength - 1; j > 0; j--) {
+      int k = random.nextInt(0, j);
+      int temp = permutation[j];
+      permutation[j] = permutation[k];
+      permutation[k] = temp;
+    }
+  }
+
+  /** Copy constructor */
+  public IntArrayPermutationSolution(IntArrayPermutationSolution solution) {
+    this.permutation = solution.permutation.clone();
+    this.objectives = solution.objectives.clone();
+    this.constraints = solution.constraints.clone();
+    if (solution.attributes != null && !solution.attributes.isEmpty()) {
+      this.attributes = new HashMap<>(solution.attributes);
+    }
+  }
+
+  public int getValue(int index) {
+    return permutation[index];
+  }
+
+  public void setValue(int index, int value) {
+    permutation[index] = value;
+  }
+
+  /** The array holding the permutation, not a copy */
+  public int[] getPermutation() {
+    return permutation;
+  }
+
+  @Override
+  public List<Integer> variables() {
+    if (variables == null) {
+      variables = new AbstractList<Integer>() {
+        @Override
+        public Integer get(int index) {
+          return permutation[index];
+        }
+
+        @Override
+        public Integer set(int index, Integer value) {
+          int previous = permutation[index];
+          permutation[index] = value;
+          return previous;
+        }
+
+        @Override
+        public int size() {
+          return permutation.length;
+        }
+      };
+    }
+    return variables;
+  }
+
+  @Override
+  public double[] objectives() {
+    return objectives;
+  }
+
+  @Override
+  public double[] constraints() {
+    return constraints;
+  }
+
+  @Override
+  public Map<Object, Object> attributes() {
+    if (attributes == null) {
+      attributes = new HashMap<>();
+    }
+    return attributes;
+  }
+
+  @Override
+  public int getLength() {
+    return permutation.length;
+  }
+
+  @Override
+  public IntArrayPermutationSolution copy() {
+    return new IntArrayPermutationSolution(this);
+  }
+
+  /** Reuses the arrays of a target of the same class and sizes */
+  @Override
+  public IntArrayPermutationSolution copyInto(Solution<Integer> target) {
+    if (!(target instanceof IntArrayPermutationSolution) || target == this) {
+      return copy();
+    }
+    IntArrayPermutationSolution solution = (IntArrayPermutationSolution) target;
+    if (solution.permutation.length != permutation.length
+        || solution.objectives.length != objectives.length
+        || solution.constraints.length != constraints.length) {
+      return copy();
+    }
+    System.arraycopy(permutation, 0, solution.permutation, 0, permutation.length);
+    System.arraycopy(objectives, 0, solution.objectives, 0, objectives.length);
+    System.arraycopy(constraints, 0, solution.constraints, 0, constraints.length);
+    if (solution.attributes != null) {
+      solution.attributes.clear();
+    }
+    if (attributes != null && !attributes.isEmpty()) {
+      solution.attributes().putAll(attributes);
+    }
+    return solution;
+  }
+
+  /**
+   * Two solutions are equal if they have the same variables, as in {@link AbstractSolution}; the
+   * hash code is the one of the list of variables
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (o == null) {
+      throw new JMetalException("The solution to compare is null");
+    }
+    if (o instanceof IntArrayPermutationSolution) {
+      return Arrays.equals(permutation, ((IntArrayPermutationSolution) o).permutation);
+    }
+    return o instanceof Solution && variables().equals(((Solution<?>) o).variables());
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(permutation);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder("Variables: ");
+    for (int value : permutation) {
+      result.append(value).append(" ");
+    }
+    result.append("Objectives: ");
+    for (Double obj : objectives) {
+      result.append(obj).append(" ");
+    }
+    result.append("Constraints: ");
+    for (Double obj : constraints) {
+      result.append(obj).append(" ");
+    }
+    result.append("\tAlgorithm Attributes: ").append(attributes == null ? "{}" : attributes).append("\n");
+    return result.toString();
+  }
+}
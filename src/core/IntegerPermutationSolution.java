@@ -25,7 +25,11 @@ public class IntegerPermutationSolution extends AbstractSolution<Integer>
       randomSequence.add(j);
     }
 
-    java.util.Collections.shuffle(randomSequence);
+    // Fisher-Yates shuffle drawing from JMetalRandom, so that the permutation depends on its seed
+    JMetalRandom random = JMetalRandom.getInstance();
+    for (int j = permutationLength - 1; j > 0; j--) {
+      java.util.Collections.swap(randomSequence, j, random.nextInt(0, j));
+    }
 
     for (int i = 0; i < permutationLength; i++) {
       variables().set(i, randomSequence.get(i));
@@ -56,6 +60,26 @@ public class IntegerPermutationSolution extends AbstractSolution<Integer>
     return new IntegerPermutationSolution(this);
   }
 
+  /** Reuses the list, the arrays and the attribute map of a target of the same class and sizes */
+  @Override
+  public IntegerPermutationSolution copyInto(Solution<Integer> target) {
+    if (!(target instanceof IntegerPermutationSolution) || target == this
+        || target.variables().size() != variables().size()
+        || target.objectives().length != objectives().length
+        || target.constraints().length != constraints().length) {
+      return copy();
+    }
+    IntegerPermutationSolution solution = (IntegerPermutationSolution) target;
+    for (int i = 0; i < variables().size(); i++) {
+      solution.variables().set(i, variables().get(i));
+    }
+    System.arraycopy(objectives(), 0, solution.objectives(), 0, objectives().length);
+    System.arraycopy(constraints(), 0, solution.constraints(), 0, constraints().length);
+    solution.attributes.clear();
+    solution.attributes.putAll(attributes);
+    return solution;
+  }
+
   @Override
   public int getLength() {
     return variables().size();
@@ -8,19 +8,82 @@ import java.io.Serializable;
 @SuppressWarnings("serial")
 public class JMetalRandom implements Serializable {
   private static JMetalRandom instance ;
+  private static final ThreadLocal<JMetalRandom> threadInstance = new ThreadLocal<>() ;
   private PseudoRandomGenerator randomGenerator ;
 
   private JMetalRandom() {
     randomGenerator = new JavaRandomGenerator() ;
   }
 
+  /**
+   * Creates a random context independent of the process-wide instance, to be given to the
+   * operators and algorithms of one run (see {@link #runBound(Runnable)})
+   */
+  public JMetalRandom(PseudoRandomGenerator randomGenerator) {
+    this.randomGenerator = randomGenerator ;
+  }
+
+  /**
+   * Returns the instance bound to the calling thread by {@link #bind(long)} or
+   * {@link #runBound(Runnable)}, or the process-wide instance if there is none
+   */
   public static JMetalRandom getInstance() {
+    JMetalRandom bound = threadInstance.get() ;
+    if (bound != null) {
+      return bound ;
+    }
     if (instance == null) {
       instance = new JMetalRandom() ;
     }
     return instance ;
   }
 
+  /**
+   * Binds to the calling thread a new instance seeded with the given seed, so that the code run
+   * by this thread until {@link #unbind()} draws a sequence of numbers that only depends on the
+   * seed, whatever the other threads do
+   */
+  public static JMetalRandom bind(long seed) {
+    JMetalRandom random = new JMetalRandom(new SplittableRandomGenerator(seed)) ;
+    threadInstance.set(random) ;
+    return random ;
+  }
+
+  /** Makes the calling thread use the process-wide instance again */
+  public static void unbind() {
+    threadInstance.remove() ;
+  }
+
+  /**
+   * Runs the body with this instance bound to the calling thread, so that the code that still asks
+   * {@link #getInstance()} for its numbers (e.g. the creation of random solutions) draws them from
+   * this instance too. The previous binding is restored afterwards.
+   */
+  public void runBound(Runnable body) {
+    JMetalRandom previous = threadInstance.get() ;
+    threadInstance.set(this) ;
+    try {
+      body.run() ;
+    } finally {
+      if (previous == null) {
+        threadInstance.remove() ;
+      } else {
+        threadInstance.set(previous) ;
+      }
+    }
+  }
+
+  /**
+   * Returns a new instance drawing from an independent stream split from this one, e.g. one per
+   * run of an experiment
+   */
+  public JMetalRandom split() {
+    if (!(randomGenerator instanceof SplittablePseudoRandomGenerator)) {
+      throw new JMetalException("The generator " + randomGenerator.getName() + " cannot be split") ;
+    }
+    return new JMetalRandom(((SplittablePseudoRandomGenerator) randomGenerator).split()) ;
+  }
+
   public void setRandomGenerator(PseudoRandomGenerator randomGenerator) {
     this.randomGenerator = randomGenerator;
   }
@@ -41,6 +104,14 @@ public class JMetalRandom implements Serializable {
     return randomGenerator.nextDouble(lowerBound, upperBound) ;
   }
 
+  public void nextInts(int[] values, int lowerBound, int upperBound) {
+    randomGenerator.nextInts(values, lowerBound, upperBound) ;
+  }
+
+  public void nextDoubles(double[] values) {
+    randomGenerator.nextDoubles(values) ;
+  }
+
   public void setSeed(long seed) {
     randomGenerator.setSeed(seed);
   }
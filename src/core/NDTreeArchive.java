@@ -0,0 +1,431 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Non-dominated archive organized as an ND-Tree (Jaszkiewicz and Lust, "ND-Tree-based update: a
+ * fast algorithm for the dynamic non-dominance problem", IEEE TEVC 2018), intended for three or more
+ * objectives.
+ *
+ * <p>Every node keeps an approximate ideal point (not worse than any of its solutions) and nadir point
+ * (not better than any of its solutions). When a candidate arrives, a subtree is discarded as a
+ * whole if its nadir point weakly dominates the candidate (the candidate is rejected), if the
+ * candidate dominates its ideal point (the whole subtree is removed), or if the candidate is neither
+ * dominated by its ideal point nor dominates its nadir point (nothing in it can be compared with
+ * the candidate). Only the remaining subtrees are visited. An accepted candidate is added to the
+ * leaf whose center is the closest, and leaves larger than the maximum size are split into
+ * numberOfObjectives + 1 children.
+ *
+ * <p>As in the reference algorithm, the bounds of the nodes are not tightened when solutions
+ * dominated by a new one are removed: they stay valid because the removed solutions are dominated by
+ * a member of the archive. They are recomputed after an explicit {@link #remove(Solution)}.
+ *
+ * <p>Dominance is plain Pareto dominance on the objectives (minimization), and a solution with the
+ * same objectives as an archived one is rejected. The solutions are also kept in a flat list, so
+ * that {@link #get(int)} is O(1); removals swap the last solution into the freed position.
+ *
+ * @param <S> Solution
+ */
+@SuppressWarnings("serial")
+public class NDTreeArchive<S extends Solution<?>> implements Archive<S> {
+  private static final int DEFAULT_MAX_LEAF_SIZE = 20;
+
+  private static final int KEEP = 0;
+  private static final int REJECT = 1;
+  private static final int REMOVE = 2;
+
+  private final int maxLeafSize;
+  private int numberOfChildren = -1;
+  private int numberOfObjectives = -1;
+
+  private Node<S> root = null;
+  private final List<S> solutionList = new ArrayList<>();
+  private final List<Entry<S>> entries = new ArrayList<>();
+  private final List<S> unmodifiableSolutionList = Collections.unmodifiableList(solutionList);
+
+  private static final class Entry<S> {
+    final S solution;
+    final double[] objectives;
+    int index;
+    Node<S> leaf;
+
+    Entry(S solution, double[] objectives) {
+      this.solution = solution;
+      this.objectives = objectives;
+    }
+  }
+
+  private static final class Node<S> {
+    final double[] ideal;
+    final double[] nadir;
+    List<Entry<S>> points = new ArrayList<>();
+    List<Node<S>> children = null;
+
+    Node(double[] objectives) {
+      this.ideal = objectives.clone();
+      this.nadir = objectives.clone();
+    }
+
+    boolean isLeaf() {
+      return children == null;
+    }
+
+    boolean isEmpty() {
+      return isLeaf() ? points.isEmpty() : children.isEmpty();
+    }
+
+    void extend(double[] objectives) {
+      for (int j = 0; j < objectives.length; j++) {
+        if (objectives[j] < ideal[j]) {
+          ideal[j] = objectives[j];
+        }
+        if (objectives[j] > nadir[j]) {
+          nadir[j] = objectives[j];
+        }
+      }
+    }
+  }
+
+  /** Default constructor */
+  public NDTreeArchive() {
+    this(DEFAULT_MAX_LEAF_SIZE);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param maxLeafSize Maximum number of solutions of a leaf before it is split
+   */
+  public NDTreeArchive(int maxLeafSize) {
+    Check.that(maxLeafSize > 1, "The maximum leaf size must be greater than one: " + maxLeafSize);
+    this.maxLeafSize = maxLeafSize;
+  }
+
+  @Override
+  public boolean add(S solution) {
+    Check.notNull(solution);
+    int dimension = solution.objectives().length;
+    if (numberOfObjectives == -1) {
+      numberOfObjectives = dimension;
+      numberOfChildren = dimension + 1;
+    } else if (dimension != numberOfObjectives) {
+      throw new IllegalStateException(
+          String.format("Inconsistent objective dimensions: existing=%d, new=%d", numberOfObjectives, dimension));
+    }
+
+    Entry<S> entry = new Entry<>(solution, solution.objectives().clone());
+    if (root == null) {
+      root = new Node<>(entry.objectives);
+    } else {
+      int result = update(root, entry.objectives);
+      if (result == REJECT) {
+        return false;
+      } else if (result == REMOVE || root.isEmpty()) {
+        root = new Node<>(entry.objectives);
+      }
+    }
+
+    entry.index = solutionList.size();
+    solutionList.add(solution);
+    entries.add(entry);
+    insert(root, entry);
+    return true;
+  }
+
+  /**
+   * Removes a solution from the archive (if present) and tightens the bounds of the nodes above it
+   */
+  public void remove(S solution) {
+    Entry<S> entry = null;
+    for (Entry<S> candidate : entries) {
+      if (candidate.solution == solution) {
+        entry = candidate;
+        break;
+      }
+    }
+    if (entry == null) {
+      for (Entry<S> candidate : entries) {
+        if (candidate.solution.equals(solution)) {
+          entry = candidate;
+          break;
+        }
+      }
+    }
+    if (entry == null) {
+      return;
+    }
+
+    removeEntry(root, entry);
+    if (root.isEmpty()) {
+      root = null;
+    }
+    removeFromList(entry);
+  }
+
+  @Override
+  public S get(int index) {
+    return solutionList.get(index);
+  }
+
+  /** Returns an unmodifiable view of the archived solutions */
+  @Override
+  public List<S> getSolutionList() {
+    return unmodifiableSolutionList;
+  }
+
+  @Override
+  public int size() {
+    return solutionList.size();
+  }
+
+  /**
+   * Removes from the subtree the solutions dominated by the candidate
+   *
+   * @return REJECT if the candidate is weakly dominated by a solution of the subtree, REMOVE if all
+   *     the solutions of the subtree are dominated by the candidate, KEEP otherwise
+   */
+  private int update(Node<S> node, double[] candidate) {
+    if (weaklyDominates(node.nadir, candidate)) {
+      return REJECT;
+    } else if (dominates(candidate, node.ideal)) {
+      removeSubtree(node);
+      return REMOVE;
+    } else if (!weaklyDominates(node.ideal, candidate) && !weaklyDominates(candidate, node.nadir)) {
+      return KEEP;
+    }
+
+    if (node.isLeaf()) {
+      // a solution dominated by the candidate and one dominating it cannot both be in the archive, so
+      // a rejection never comes after a removal
+      for (int i = node.points.size() - 1; i >= 0; i--) {
+        Entry<S> entry = node.points.get(i);
+        if (weaklyDominates(entry.objectives, candidate)) {
+          return REJECT;
+        } else if (weaklyDominates(candidate, entry.objectives)) {
+          removeAt(node.points, i);
+          removeFromList(entry);
+        }
+      }
+    } else {
+      for (int i = node.children.size() - 1; i >= 0; i--) {
+        Node<S> child = node.children.get(i);
+        int result = update(child, candidate);
+        if (result == REJECT) {
+          return REJECT;
+        } else if (result == REMOVE || child.isEmpty()) {
+          removeAt(node.children, i);
+        }
+      }
+    }
+
+    return node.isEmpty() ? REMOVE : KEEP;
+  }
+
+  private void insert(Node<S> node, Entry<S> entry) {
+    while (!node.isLeaf()) {
+      node.extend(entry.objectives);
+      node = closestChild(node.children, entry.objectives);
+    }
+
+    node.extend(entry.objectives);
+    node.points.add(entry);
+    entry.leaf = node;
+    if (node.points.size() > maxLeafSize) {
+      split(node);
+    }
+  }
+
+  /**
+   * Turns an overfull leaf into an internal node: the seeds of the children are picked farthest-first,
+   * starting with the solution with the largest average distance to the others, and the other
+   * solutions go to the child with the closest center
+   */
+  private void split(Node<S> node) {
+    List<Entry<S>> points = node.points;
+    int size = points.size();
+
+    int first = 0;
+    double largest = -1.0;
+    for (int i = 0; i < size; i++) {
+      double sum = 0.0;
+      for (int k = 0; k < size; k++) {
+        sum += distance(points.get(i).objectives, points.get(k).objectives);
+      }
+      if (sum > largest) {
+        largest = sum;
+        first = i;
+      }
+    }
+
+    boolean[] seeded = new boolean[size];
+    double[] nearestSeed = new double[size];
+    List<Node<S>> children = new ArrayList<>(numberOfChildren);
+    int seed = first;
+    while (true) {
+      Entry<S> entry = points.get(seed);
+      Node<S> child = new Node<>(entry.objectives);
+      child.points.add(entry);
+      entry.leaf = child;
+      children.add(child);
+      seeded[seed] = true;
+      if (children.size() == Math.min(numberOfChildren, size)) {
+        break;
+      }
+
+      seed = -1;
+      double farthest = -1.0;
+      for (int i = 0; i < size; i++) {
+        if (seeded[i]) {
+          continue;
+        }
+        double d = distance(points.get(i).objectives, entry.objectives);
+        nearestSeed[i] = children.size() == 1 ? d : Math.min(nearestSeed[i], d);
+        if (nearestSeed[i] > farthest) {
+          farthest = nearestSeed[i];
+          seed = i;
+        }
+      }
+    }
+
+    for (int i = 0; i < size; i++) {
+      if (!seeded[i]) {
+        Entry<S> entry = points.get(i);
+        Node<S> child = closestChild(children, entry.objectives);
+        child.extend(entry.objectives);
+        child.points.add(entry);
+        entry.leaf = child;
+      }
+    }
+
+    node.points = null;
+    node.children = children;
+  }
+
+  private boolean removeEntry(Node<S> node, Entry<S> entry) {
+    if (node.isLeaf()) {
+      if (entry.leaf != node) {
+        return false;
+      }
+      node.points.remove(entry);
+    } else {
+      boolean found = false;
+      for (int i = 0; i < node.children.size() && !found; i++) {
+        Node<S> child = node.children.get(i);
+        if (weaklyDominates(child.ideal, entry.objectives) && weaklyDominates(entry.objectives, child.nadir)
+            && removeEntry(child, entry)) {
+          found = true;
+          if (child.isEmpty()) {
+            removeAt(node.children, i);
+          }
+        }
+      }
+      if (!found) {
+        return false;
+      }
+    }
+
+    recomputeBounds(node);
+    return true;
+  }
+
+  private void recomputeBounds(Node<S> node) {
+    if (node.isEmpty()) {
+      return;
+    }
+    double[] first = node.isLeaf() ? node.points.get(0).objectives : node.children.get(0).ideal;
+    System.arraycopy(first, 0, node.ideal, 0, numberOfObjectives);
+    System.arraycopy(node.isLeaf() ? first : node.children.get(0).nadir, 0, node.nadir, 0, numberOfObjectives);
+    if (node.isLeaf()) {
+      for (Entry<S> entry : node.points) {
+        node.extend(entry.objectives);
+      }
+    } else {
+      for (Node<S> child : node.children) {
+        node.extend(child.ideal);
+        node.extend(child.nadir);
+      }
+    }
+  }
+
+  private void removeSubtree(Node<S> node) {
+    if (node.isLeaf()) {
+      for (Entry<S> entry : node.points) {
+        removeFromList(entry);
+      }
+      node.points.clear();
+    } else {
+      for (Node<S> child : node.children) {
+        removeSubtree(child);
+      }
+      node.children.clear();
+    }
+  }
+
+  /** Removes an entry from the flat list, moving the last solution into its position */
+  private void removeFromList(Entry<S> entry) {
+    int last = entries.size() - 1;
+    Entry<S> moved = entries.get(last);
+    entries.set(entry.index, moved);
+    solutionList.set(entry.index, moved.solution);
+    moved.index = entry.index;
+    entries.remove(last);
+    solutionList.remove(last);
+  }
+
+  private Node<S> closestChild(List<Node<S>> children, double[] objectives) {
+    Node<S> closest = null;
+    double smallest = Double.POSITIVE_INFINITY;
+    for (Node<S> child : children) {
+      double d = 0.0;
+      for (int j = 0; j < numberOfObjectives; j++) {
+        double difference = objectives[j] - 0.5 * (child.ideal[j] + child.nadir[j]);
+        d += difference * difference;
+      }
+      if (d < smallest) {
+        smallest = d;
+        closest = child;
+      }
+    }
+    return closest;
+  }
+
+  private static <T> void removeAt(List<T> list, int index) {
+    int last = list.size() - 1;
+    list.set(index, list.get(last));
+    list.remove(last);
+  }
+
+  private double distance(double[] a, double[] b) {
+    double sum = 0.0;
+    for (int j = 0; j < numberOfObjectives; j++) {
+      double difference = a[j] - b[j];
+      sum += difference * difference;
+    }
+    return Math.sqrt(sum);
+  }
+
+  /** a is not worse than b in any objective */
+  private boolean weaklyDominates(double[] a, double[] b) {
+    for (int j = 0; j < numberOfObjectives; j++) {
+      if (a[j] > b[j]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** a is not worse than b in any objective, and better in at least one */
+  private boolean dominates(double[] a, double[] b) {
+    boolean better = false;
+    for (int j = 0; j < numberOfObjectives; j++) {
+      if (a[j] > b[j]) {
+        return false;
+      } else if (a[j] < b[j]) {
+        better = true;
+      }
+    }
+    return better;
+  }
+}
@@ -1,7 +1,6 @@
 package core;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
@@ -28,9 +27,27 @@ public class NonDominatedSolutionListArchive<S extends Solution<?>> implements A
     private boolean biObjectiveMode = false;
     private List<S> sortedList; // Used only for 2D case
     private Comparator<S> objective0Comparator;
+    private final Backend backend;
+    private NDTreeArchive<S> ndTree = null; // Used only for the TREE backend with 3+ objectives
 
     private int numObjectives = -1; // Track dimensionality for consistency
 
+    /* ==== Optional hypervolume tracking (2D case) ==== */
+    private BiObjectiveHypervolumeTracker<S> hypervolumeTracker = null;
+
+    /**
+     * Storage of the solutions of a bi-objective archive, sorted by the first objective
+     */
+    public enum Backend {
+        /** ArrayList: O(log n) search, but insertions and removals shift the array */
+        LIST,
+        /**
+         * {@link OrderStatisticTreeList}: O(log n) search, insertion, removal and access by index; with
+         * three or more objectives, an {@link NDTreeArchive} (plain Pareto dominance on the objectives)
+         */
+        TREE
+    }
+
     /** Default constructor */
     public NonDominatedSolutionListArchive() {
         this(new DominanceComparator<S>());
@@ -38,14 +55,29 @@ public class NonDominatedSolutionListArchive<S extends Solution<?>> implements A
 
     /** Constructor with custom comparator */
     public NonDominatedSolutionListArchive(DominanceComparator<S> comparator) {
+        this(comparator, Backend.LIST);
+    }
+
+    /** Constructor with the storage used in the bi-objective case */
+    public NonDominatedSolutionListArchive(Backend backend) {
+        this(new DominanceComparator<S>(), backend);
+    }
+
+    /** Constructor with custom comparator and the storage used in the bi-objective case */
+    public NonDominatedSolutionListArchive(DominanceComparator<S> comparator, Backend backend) {
         dominanceComparator = comparator;
         solutionList = new ArrayList<>();
+        this.backend = backend;
+    }
+
+    public Backend getBackend() {
+        return backend;
     }
 
     /** Detects and activates bi-objective mode if appropriate */
     private void activateBiObjectiveMode() {
         biObjectiveMode = true;
-        sortedList = new ArrayList<>();
+        sortedList = backend == Backend.TREE ? new OrderStatisticTreeList<>() : new ArrayList<>();
         objective0Comparator = Comparator.comparingDouble(s -> s.objectives()[0]);
         // Transfer existing solutions into sorted structure
         for (S s : solutionList) {
@@ -68,6 +100,10 @@ public class NonDominatedSolutionListArchive<S extends Solution<?>> implements A
             );
         }
 
+        if (hypervolumeTracker != null && dim != 2) {
+            throw new IllegalStateException("Hypervolume tracking requires two objectives");
+        }
+
         /* --- Mode activation logic --- */
         if (dim == 2) {
             if (!biObjectiveMode) {
@@ -84,6 +120,9 @@ public class NonDominatedSolutionListArchive<S extends Solution<?>> implements A
         /* --- Route to correct insertion method --- */
         if (biObjectiveMode) {
             return addBiObjective(solution);
+        } else if (backend == Backend.TREE) {
+            if (ndTree == null) ndTree = new NDTreeArchive<>();
+            return ndTree.add(solution);
         } else {
             return addGeneral(solution);
         }
@@ -124,14 +163,14 @@ public class NonDominatedSolutionListArchive<S extends Solution<?>> implements A
         return solutionInserted;
     }
 
-    /** Optimised O(log n) insertion for bi-objective case */
+    /** Optimised O(log n) insertion for bi-objective case (plus the shifts of the LIST backend) */
     private boolean addBiObjective(S solution) {
         double f1 = solution.objectives()[0];
         double f2 = solution.objectives()[1];
 
-        // Binary search by f1
-        int index = Collections.binarySearch(sortedList, solution, objective0Comparator);
-        if (index < 0) index = -index - 1;
+        // First position with a first objective not lower than f1 (the list holds at most one solution
+        // per value of the first objective)
+        int index = lowerBound(solution);
 
         // Check if dominated by previous
         if (index > 0) {
@@ -141,26 +180,56 @@ public class NonDominatedSolutionListArchive<S extends Solution<?>> implements A
             }
         }
 
-        // Remove all following dominated solutions
+        // Check if dominated by the solution with the same first objective
+        if (index < sortedList.size()) {
+            S next = sortedList.get(index);
+            if (next.objectives()[0] == f1 && next.objectives()[1] < f2) {
+                return false;
+            }
+        }
+
+        // Remove all following dominated solutions, and a solution with the same objectives, that the
+        // new one replaces (an update, as it has always been)
         int removeStart = index;
         while (removeStart < sortedList.size() &&
                 sortedList.get(removeStart).objectives()[1] >= f2) {
             removeStart++;
         }
-        if (removeStart > index)
-            sortedList.subList(index, removeStart).clear();
-
-        // Check equality
-        if (index < sortedList.size()) {
-            S next = sortedList.get(index);
-            if (next.objectives()[0] == f1 && next.objectives()[1] == f2)
-                return false;
+        if (removeStart > index) {
+            List<S> dominated = sortedList.subList(index, removeStart);
+            if (hypervolumeTracker != null) {
+                hypervolumeTracker.removed(index > 0 ? sortedList.get(index - 1) : null, dominated,
+                        removeStart < sortedList.size() ? sortedList.get(removeStart) : null);
+            }
+            dominated.clear();
         }
 
         sortedList.add(index, solution);
+        if (hypervolumeTracker != null) {
+            hypervolumeTracker.inserted(index > 0 ? sortedList.get(index - 1) : null, solution,
+                    index + 1 < sortedList.size() ? sortedList.get(index + 1) : null);
+        }
         return true;
     }
 
+    private int lowerBound(S solution) {
+        if (sortedList instanceof OrderStatisticTreeList) {
+            return ((OrderStatisticTreeList<S>) sortedList).lowerBound(solution, objective0Comparator);
+        }
+
+        int low = 0;
+        int high = sortedList.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (objective0Comparator.compare(sortedList.get(middle), solution) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
     /** Join another archive */
     public Archive<S> join(Archive<S> archive) {
         return this.addAll(archive.getSolutionList());
@@ -175,21 +244,114 @@ public class NonDominatedSolutionListArchive<S extends Solution<?>> implements A
     /** Retrieve solution list (depends on mode) */
     @Override
     public List<S> getSolutionList() {
+        if (ndTree != null) return ndTree.getSolutionList();
         return biObjectiveMode ? sortedList : solutionList;
     }
 
     @Override
     public int size() {
+        if (ndTree != null) return ndTree.size();
         return biObjectiveMode ? sortedList.size() : solutionList.size();
     }
 
     @Override
     public S get(int index) {
+        if (ndTree != null) return ndTree.get(index);
         return biObjectiveMode ? sortedList.get(index) : solutionList.get(index);
     }
 
+    /**
+     * Whether the archive holds this very solution (not only an equal one), e.g. before recycling a
+     * solution discarded from the population. O(log n) for two objectives, O(n) otherwise.
+     */
+    public boolean containsInstance(S solution) {
+        if (biObjectiveMode) {
+            if (solution.objectives().length != 2) {
+                return false;
+            }
+            for (int index = lowerBound(solution); index < sortedList.size(); index++) {
+                S candidate = sortedList.get(index);
+                if (candidate == solution) {
+                    return true;
+                }
+                if (candidate.objectives()[0] != solution.objectives()[0]) {
+                    return false;
+                }
+            }
+            return false;
+        }
+        for (S candidate : getSolutionList()) {
+            if (candidate == solution) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void remove(S candidate) {
-        if (biObjectiveMode) sortedList.remove(candidate);
+        if (biObjectiveMode) {
+            int index = indexOfBiObjective(candidate);
+            if (index >= 0) {
+                S removed = sortedList.remove(index);
+                if (hypervolumeTracker != null) {
+                    hypervolumeTracker.removed(index > 0 ? sortedList.get(index - 1) : null, removed,
+                            index < sortedList.size() ? sortedList.get(index) : null);
+                }
+            }
+        }
+        else if (ndTree != null) ndTree.remove(candidate);
         else solutionList.remove(candidate);
     }
+
+    /**
+     * Position of the candidate among the solutions with the same first objective, found in
+     * O(log n) on both backends: the candidate itself, else the first one equal to it (the solutions
+     * with the same variables have the same objectives); -1 if there is none
+     */
+    private int indexOfBiObjective(S candidate) {
+        if (candidate.objectives().length != 2) {
+            return -1;
+        }
+        int first = lowerBound(candidate);
+        int equal = -1;
+        for (int index = first; index < sortedList.size(); index++) {
+            S solution = sortedList.get(index);
+            if (solution == candidate) {
+                return index;
+            }
+            if (solution.objectives()[0] != candidate.objectives()[0]) {
+                break;
+            }
+            if (equal < 0 && solution.equals(candidate)) {
+                equal = index;
+            }
+        }
+        return equal;
+    }
+
+    /**
+     * Keeps the hypervolume of the archive up to date for a fixed reference point, so that
+     * {@link #getHypervolume()} is O(1). Bi-objective archives only.
+     */
+    public void trackHypervolume(double[] referencePoint) {
+        if (numObjectives != -1 && numObjectives != 2) {
+            throw new IllegalStateException("Hypervolume tracking requires two objectives");
+        }
+        hypervolumeTracker = new BiObjectiveHypervolumeTracker<>(referencePoint);
+        if (biObjectiveMode) {
+            hypervolumeTracker.reset(sortedList);
+        }
+    }
+
+    public boolean isHypervolumeTracked() {
+        return hypervolumeTracker != null;
+    }
+
+    /** Hypervolume of the archive for the reference point given to {@link #trackHypervolume(double[])} */
+    public double getHypervolume() {
+        if (hypervolumeTracker == null) {
+            throw new IllegalStateException("Hypervolume tracking is not enabled");
+        }
+        return hypervolumeTracker.getHypervolume();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package core;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Comparator;
+import java.util.RandomAccess;
+
+/**
+ * List backed by an implicit treap (a randomized balanced binary tree where the position of an
+ * element is given by the sizes of the subtrees), so that access, insertion and removal at any
+ * index are O(log n) expected, instead of the O(n) shifts of an {@link java.util.ArrayList}.
+ * Removing a range of k consecutive elements (e.g. through {@code subList(from, to).clear()}) is
+ * O(log n) as well, and {@link #lowerBound(Object, Comparator)} binary-searches a sorted list in
+ * O(log n).
+ *
+ * <p>The priorities of the nodes come from a private generator with a fixed seed, so building the
+ * same list twice gives the same tree and does not consume numbers of {@link JMetalRandom}.
+ *
+ * @param <E> Element
+ */
+@SuppressWarnings("serial")
+public class OrderStatisticTreeList<E> extends AbstractList<E> implements RandomAccess, Serializable {
+  private Node<E> root = null;
+  private long seed = 0x9E3779B97F4A7C15L;
+
+  private static final class Node<E> implements Serializable {
+    E value;
+    final long priority;
+    int size = 1;
+    Node<E> left;
+    Node<E> right;
+
+    Node(E value, long priority) {
+      this.value = value;
+      this.priority = priority;
+    }
+  }
+
+  /** Pair of trees returned by {@link #split(Node, int)} */
+  private Node<E> splitLeft;
+  private Node<E> splitRight;
+
+  @Override
+  public int size() {
+    return size(root);
+  }
+
+  @Override
+  public E get(int index) {
+    return node(index).value;
+  }
+
+  @Override
+  public E set(int index, E element) {
+    Node<E> node = node(index);
+    E previous = node.value;
+    node.value = element;
+    return previous;
+  }
+
+  @Override
+  public void add(int index, E element) {
+    if (index < 0 || index > size()) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+    split(root, index);
+    Node<E> right = splitRight;
+    root = merge(merge(splitLeft, new Node<>(element, nextPriority())), right);
+    modCount++;
+  }
+
+  @Override
+  public E remove(int index) {
+    E value = get(index);
+    removeRange(index, index + 1);
+    return value;
+  }
+
+  @Override
+  protected void removeRange(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + size());
+    }
+    if (fromIndex == toIndex) {
+      return;
+    }
+    split(root, toIndex);
+    Node<E> right = splitRight;
+    split(splitLeft, fromIndex);
+    root = merge(splitLeft, right);
+    modCount++;
+  }
+
+  @Override
+  public void clear() {
+    root = null;
+    modCount++;
+  }
+
+  /**
+   * Index of the first element not lower than the key, in a list sorted according to the
+   * comparator (the size of the list if there is none)
+   */
+  public int lowerBound(E key, Comparator<? super E> comparator) {
+    int index = 0;
+    Node<E> node = root;
+    while (node != null) {
+      if (comparator.compare(node.value, key) < 0) {
+        index += size(node.left) + 1;
+        node = node.right;
+      } else {
+        node = node.left;
+      }
+    }
+    return index;
+  }
+
+  private Node<E> node(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+    Node<E> node = root;
+    while (true) {
+      int leftSize = size(node.left);
+      if (index < leftSize) {
+        node = node.left;
+      } else if (index == leftSize) {
+        return node;
+      } else {
+        index -= leftSize + 1;
+        node = node.right;
+      }
+    }
+  }
+
+  /** Splits a tree into its first count elements (splitLeft) and the rest (splitRight) */
+  private void split(Node<E> node, int count) {
+    if (node == null) {
+      splitLeft = null;
+      splitRight = null;
+    } else if (size(node.left) < count) {
+      split(node.right, count - size(node.left) - 1);
+      node.right = splitLeft;
+      update(node);
+      splitLeft = node;
+    } else {
+      split(node.left, count);
+      node.left = splitRight;
+      update(node);
+      splitRight = node;
+    }
+  }
+
+  /** Concatenates two trees */
+  private Node<E> merge(Node<E> left, Node<E> right) {
+    if (left == null) {
+      return right;
+    } else if (right == null) {
+      return left;
+    } else if (left.priority > right.priority) {
+      left.right = merge(left.right, right);
+      update(left);
+      return left;
+    } else {
+      right.left = merge(left, right.left);
+      update(right);
+      return right;
+    }
+  }
+
+  private static int size(Node<?> node) {
+    return node == null ? 0 : node.size;
+  }
+
+  private static void update(Node<?> node) {
+    node.size = 1 + size(node.left) + size(node.right);
+  }
+
+  private long nextPriority() {
+    // xorshift64*
+    seed ^= seed >>> 12;
+    seed ^= seed << 25;
+    seed ^= seed >>> 27;
+    return seed * 0x2545F4914F6CDD1DL;
+  }
+}
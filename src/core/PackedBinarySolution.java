@@ -0,0 +1,200 @@
+package core;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary solution made of one-bit variables (as in {@link problems.Knapsack01} and
+ * {@link problems.MONKLand}), all packed in a single array of 64-bit words: a solution of n bits
+ * takes n/8 bytes instead of n {@link BinarySet} objects, and {@link #copy()} is a single array
+ * copy.
+ *
+ * <p>The bits are read and written through {@link #getBit(int)}, {@link #setBit(int, boolean)},
+ * {@link #flip(int)} and {@link #getWords()}. For compatibility, {@link #variables()} is a view with
+ * one {@link BinarySet} of one bit per variable: {@code get(i)} returns a new copy of the bit, so
+ * changing it does not change the solution, while {@code set(i, bits)} does.
+ */
+@SuppressWarnings("serial")
+public class PackedBinarySolution implements BinarySolution {
+  private final int numberOfBits;
+  private final long[] words;
+  private final double[] objectives;
+  private final double[] constraints;
+  /** Created on demand, most solutions never have attributes */
+  private Map<Object, Object> attributes;
+
+  /**
+   * Constructor of a random solution; the bits are drawn in the same order as in a
+   * {@link DefaultBinarySolution} of one-bit variables, so the same seed gives the same solution
+   */
+  public PackedBinarySolution(int numberOfBits, int numberOfObjectives, int numberOfConstraints) {
+    this.numberOfBits = numberOfBits;
+    this.words = new long[(numberOfBits + 63) >>> 6];
+    this.objectives = new double[numberOfObjectives];
+    this.constraints = new double[numberOfConstraints];
+
+    JMetalRandom random = JMetalRandom.getInstance();
+    for (int i = 0; i < numberOfBits; i++) {
+      if (random.nextDouble() < 0.5) {
+        words[i >>> 6] |= 1L << i;
+      }
+    }
+  }
+
+  /** Copy constructor */
+  public PackedBinarySolution(PackedBinarySolution solution) {
+    this.numberOfBits = solution.numberOfBits;
+    this.words = solution.words.clone();
+    this.objectives = solution.objectives.clone();
+    this.constraints = solution.constraints.clone();
+    if (solution.attributes != null && !solution.attributes.isEmpty()) {
+      this.attributes = new HashMap<>(solution.attributes);
+    }
+  }
+
+  public boolean getBit(int index) {
+    return (words[index >>> 6] & (1L << index)) != 0;
+  }
+
+  public void setBit(int index, boolean value) {
+    if (value) {
+      words[index >>> 6] |= 1L << index;
+    } else {
+      words[index >>> 6] &= ~(1L << index);
+    }
+  }
+
+  public void flip(int index) {
+    words[index >>> 6] ^= 1L << index;
+  }
+
+  /** The words holding the bits (bit i is bit i % 64 of word i / 64), not a copy */
+  public long[] getWords() {
+    return words;
+  }
+
+  @Override
+  public List<BinarySet> variables() {
+    return new AbstractList<BinarySet>() {
+      @Override
+      public BinarySet get(int index) {
+        checkIndex(index);
+        BinarySet bits = new BinarySet(1);
+        bits.set(0, getBit(index));
+        return bits;
+      }
+
+      @Override
+      public BinarySet set(int index, BinarySet bits) {
+        BinarySet previous = get(index);
+        setBit(index, bits.get(0));
+        return previous;
+      }
+
+      @Override
+      public int size() {
+        return numberOfBits;
+      }
+    };
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= numberOfBits) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + numberOfBits);
+    }
+  }
+
+  @Override
+  public double[] objectives() {
+    return objectives;
+  }
+
+  @Override
+  public double[] constraints() {
+    return constraints;
+  }
+
+  @Override
+  public Map<Object, Object> attributes() {
+    if (attributes == null) {
+      attributes = new HashMap<>();
+    }
+    return attributes;
+  }
+
+  @Override
+  public int getNumberOfBits(int index) {
+    return 1;
+  }
+
+  @Override
+  public int getTotalNumberOfBits() {
+    return numberOfBits;
+  }
+
+  @Override
+  public PackedBinarySolution copy() {
+    return new PackedBinarySolution(this);
+  }
+
+  /** Reuses the arrays of a target of the same class and sizes */
+  @Override
+  public PackedBinarySolution copyInto(Solution<BinarySet> target) {
+    if (!(target instanceof PackedBinarySolution) || target == this) {
+      return copy();
+    }
+    PackedBinarySolution solution = (PackedBinarySolution) target;
+    if (solution.numberOfBits != numberOfBits
+        || solution.objectives.length != objectives.length
+        || solution.constraints.length != constraints.length) {
+      return copy();
+    }
+    System.arraycopy(words, 0, solution.words, 0, words.length);
+    System.arraycopy(objectives, 0, solution.objectives, 0, objectives.length);
+    System.arraycopy(constraints, 0, solution.constraints, 0, constraints.length);
+    if (solution.attributes != null) {
+      solution.attributes.clear();
+    }
+    if (attributes != null && !attributes.isEmpty()) {
+      solution.attributes().putAll(attributes);
+    }
+    return solution;
+  }
+
+  /** Two packed solutions are equal if they have the same bits */
+  @Override
+  public boolean equals(Object o) {
+    if (o == null) {
+      throw new JMetalException("The solution to compare is null");
+    }
+    return o instanceof PackedBinarySolution
+        && numberOfBits == ((PackedBinarySolution) o).numberOfBits
+        && Arrays.equals(words, ((PackedBinarySolution) o).words);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(words);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder("Variables: ");
+    for (int i = 0; i < numberOfBits; i++) {
+      result.append(getBit(i) ? "1 " : "0 ");
+    }
+    result.append("Objectives: ");
+    for (Double obj : objectives) {
+      result.append(obj).append(" ");
+    }
+    result.append("Constraints: ");
+    for (Double obj : constraints) {
+      result.append(obj).append(" ");
+    }
+    result.append("\tAlgorithm Attributes: ").append(attributes == null ? "{}" : attributes).append("\n");
+    return result.toString();
+  }
+}
@@ -22,4 +22,13 @@ public interface Problem<S> extends Serializable {
    */
   S evaluate(S solution) ;
   S createSolution() ;
+
+  /**
+   * Whether {@link #evaluate(Object)} can be called from several threads at the same time on
+   * different solutions. The parallel evaluators (see {@link ForkJoinSolutionListEvaluator}) only
+   * evaluate in parallel the problems that declare it, and evaluate the others sequentially.
+   */
+  default boolean isThreadSafe() {
+    return false ;
+  }
 }
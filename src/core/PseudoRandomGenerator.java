@@ -12,4 +12,18 @@ public interface PseudoRandomGenerator extends Serializable {
   public void setSeed(long seed) ;
   public long getSeed() ;
   public String getName() ;
+
+  /** Fills the array with integers in [lowerBound, upperBound] */
+  public default void nextInts(int[] values, int lowerBound, int upperBound) {
+    for (int i = 0; i < values.length; i++) {
+      values[i] = nextInt(lowerBound, upperBound) ;
+    }
+  }
+
+  /** Fills the array with doubles in [0, 1) */
+  public default void nextDoubles(double[] values) {
+    for (int i = 0; i < values.length; i++) {
+      values[i] = nextDouble() ;
+    }
+  }
 }
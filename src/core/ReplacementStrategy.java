@@ -0,0 +1,49 @@
+package core;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Interface representing the replacement step of a steady-state algorithm: the offspring are
+ * merged into the population and the same number of solutions is discarded.
+ *
+ * <p>Implementations may keep state between calls (e.g. a ranking that is updated incrementally),
+ * so an instance must not be shared between algorithm runs.
+ *
+ * @param <S> Solution
+ */
+public interface ReplacementStrategy<S> extends Serializable {
+  /**
+   * @param population The current population
+   * @param offspringPopulation The evaluated offspring
+   * @return The population for the next step
+   */
+  List<S> replace(List<S> population, List<S> offspringPopulation) ;
+
+  /**
+   * Same as {@link #replace(List, List)}, also passing each discarded solution (of the population
+   * or of the offspring) to the consumer, e.g. to recycle it in a {@link SolutionPool}. By default
+   * they are found by comparing the solutions before and after the replacement, in O(N).
+   */
+  default List<S> replace(List<S> population, List<S> offspringPopulation, Consumer<? super S> discarded) {
+    List<S> candidates = new ArrayList<>(population.size() + offspringPopulation.size()) ;
+    candidates.addAll(population) ;
+    candidates.addAll(offspringPopulation) ;
+
+    List<S> resultPopulation = replace(population, offspringPopulation) ;
+
+    Set<S> kept = Collections.newSetFromMap(new IdentityHashMap<>()) ;
+    kept.addAll(resultPopulation) ;
+    for (S solution : candidates) {
+      if (!kept.contains(solution)) {
+        discarded.accept(solution) ;
+      }
+    }
+    return resultPopulation ;
+  }
+}
@@ -17,4 +17,13 @@ public interface Solution<T> extends Serializable {
   Map<Object,Object> attributes() ;
 
   Solution<T> copy() ;
+
+  /**
+   * Copies this solution into the target, a solution of the same problem that is no longer used
+   * (e.g. taken from a {@link SolutionPool}), and returns it. Solutions that cannot reuse the
+   * target, by default all of them, return a new {@link #copy()} instead.
+   */
+  default Solution<T> copyInto(Solution<T> target) {
+    return copy() ;
+  }
 }
@@ -9,5 +9,17 @@ import java.util.List;
 
 public interface SolutionListEvaluator<S> extends Serializable {
   List<S> evaluate(List<S> solutionList, Problem<S> problem) ;
+
+  /**
+   * Evaluates each solution from the objectives of the reference at the same index (see
+   * {@link DeltaEvaluationProblem#evaluate(Object, Object)})
+   */
+  default List<S> evaluate(List<S> solutionList, List<S> references, DeltaEvaluationProblem<S> problem) {
+    for (int i = 0; i < solutionList.size(); i++) {
+      problem.evaluate(solutionList.get(i), references.get(i)) ;
+    }
+    return solutionList ;
+  }
+
   void shutdown() ;
 }
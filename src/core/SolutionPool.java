@@ -0,0 +1,75 @@
+package core;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Solutions that an algorithm no longer uses (e.g. the losers of the replacement of a steady-state
+ * algorithm), kept to be overwritten by the next offspring with {@link Solution#copyInto(Solution)}
+ * instead of allocating new ones.
+ *
+ * <p>A pool belongs to a single run: it is not thread-safe, and a solution must only be released
+ * when nothing else (population, archive, offspring being evaluated) refers to it anymore.
+ *
+ * @param <S> Solution
+ */
+public class SolutionPool<S extends Solution<?>> {
+  private final ArrayDeque<S> solutions ;
+  private final int capacity ;
+  private long takenSolutions = 0 ;
+
+  /** Constructor of a pool of at most 16 solutions */
+  public SolutionPool() {
+    this(16) ;
+  }
+
+  /** Constructor of a pool of at most capacity solutions; the others released are dropped */
+  public SolutionPool(int capacity) {
+    Check.that(capacity >= 1, "The capacity of the pool must be at least 1: " + capacity) ;
+    this.capacity = capacity ;
+    this.solutions = new ArrayDeque<>(capacity) ;
+  }
+
+  /** Makes the solution available to be overwritten */
+  public void release(S solution) {
+    if (solutions.size() < capacity) {
+      solutions.push(solution) ;
+    }
+  }
+
+  /** A solution to overwrite, or null if the pool is empty */
+  public S take() {
+    S solution = solutions.poll() ;
+    if (solution != null) {
+      takenSolutions++ ;
+    }
+    return solution ;
+  }
+
+  public int size() {
+    return solutions.size() ;
+  }
+
+  /** Number of solutions returned by {@link #take()} so far */
+  public long getNumberOfTakenSolutions() {
+    return takenSolutions ;
+  }
+
+  public void clear() {
+    solutions.clear() ;
+  }
+
+  /**
+   * The copy of a parent for the child of the given index: written into targets.get(index) when
+   * the targets are given (see {@link CrossoverOperator#execute(List, List)}), a new copy when they
+   * are null or the target cannot be reused
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public static <S extends Solution<?>> S copy(S parent, List<S> targets, int index) {
+    S target = targets == null ? null : targets.get(index) ;
+    if (target == null) {
+      return (S) parent.copy() ;
+    }
+    return (S) ((Solution) parent).copyInto(target) ;
+  }
+}
@@ -0,0 +1,13 @@
+package core;
+
+/**
+ * Generator that can be split into independent streams, so that every run of an experiment (or
+ * every thread) can draw from its own stream without sharing any state with the others
+ */
+public interface SplittablePseudoRandomGenerator extends PseudoRandomGenerator {
+  /**
+   * Returns a new generator whose sequence is statistically independent of this one. Splitting
+   * advances this generator, so the streams split from a given seed are always the same.
+   */
+  public SplittablePseudoRandomGenerator split() ;
+}
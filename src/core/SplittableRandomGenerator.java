@@ -0,0 +1,61 @@
+package core;
+
+import java.util.SplittableRandom;
+
+/**
+ * {@link SplittablePseudoRandomGenerator} based on {@link SplittableRandom}, which, unlike
+ * {@link java.util.Random}, has no synchronization in the generation of numbers
+ */
+@SuppressWarnings("serial")
+public class SplittableRandomGenerator implements SplittablePseudoRandomGenerator {
+  private SplittableRandom rnd ;
+  private long seed ;
+  private static final String NAME = "SplittableRandomGenerator" ;
+
+  /** Constructor */
+  public SplittableRandomGenerator() {
+    this(System.currentTimeMillis());
+  }
+
+  /** Constructor */
+  public SplittableRandomGenerator(long seed) {
+    this.seed = seed ;
+    rnd = new SplittableRandom(seed) ;
+  }
+
+  @Override
+  public long getSeed() {
+    return seed ;
+  }
+
+  @Override
+  public int nextInt(int lowerBound, int upperBound) {
+    return lowerBound + rnd.nextInt(upperBound - lowerBound + 1) ;
+  }
+
+  @Override
+  public double nextDouble(double lowerBound, double upperBound) {
+    return lowerBound + rnd.nextDouble()*(upperBound - lowerBound) ;
+  }
+
+  @Override public double nextDouble() {
+    return rnd.nextDouble();
+  }
+
+  @Override
+  public void setSeed(long seed) {
+    this.seed = seed ;
+    rnd = new SplittableRandom(seed) ;
+  }
+
+  /** The seed of the new generator is drawn from this one */
+  @Override
+  public SplittableRandomGenerator split() {
+    return new SplittableRandomGenerator(rnd.nextLong()) ;
+  }
+
+  @Override
+  public String getName() {
+    return NAME ;
+  }
+}
@@ -0,0 +1,88 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntConsumer;
+
+/**
+ * Evaluates each solution of a list in its own virtual thread, for problems whose evaluation mostly
+ * waits (on I/O, or on a simulator running in another process): the waiting evaluations do not hold
+ * a platform thread. The number of evaluations running at the same time can be bounded, e.g. to the
+ * number of instances of the simulator. The problems that are not thread-safe (see
+ * {@link Problem#isThreadSafe()}) are evaluated sequentially in the calling thread.
+ */
+@SuppressWarnings("serial")
+public class VirtualThreadSolutionListEvaluator<S> implements SolutionListEvaluator<S> {
+  private final int maximumConcurrency ;
+
+  /** Constructor of an evaluator running all the evaluations of a list at the same time */
+  public VirtualThreadSolutionListEvaluator() {
+    this(Integer.MAX_VALUE) ;
+  }
+
+  /** Constructor of an evaluator running at most maximumConcurrency evaluations at the same time */
+  public VirtualThreadSolutionListEvaluator(int maximumConcurrency) {
+    Check.that(maximumConcurrency >= 1, "The maximum concurrency must be at least 1: " + maximumConcurrency) ;
+    this.maximumConcurrency = maximumConcurrency ;
+  }
+
+  @Override
+  public List<S> evaluate(List<S> solutionList, Problem<S> problem) {
+    if (!problem.isThreadSafe()) {
+      solutionList.forEach(problem::evaluate) ;
+    } else {
+      forEach(solutionList.size(), i -> problem.evaluate(solutionList.get(i))) ;
+    }
+    return solutionList ;
+  }
+
+  @Override
+  public List<S> evaluate(List<S> solutionList, List<S> references, DeltaEvaluationProblem<S> problem) {
+    if (!problem.isThreadSafe()) {
+      return SolutionListEvaluator.super.evaluate(solutionList, references, problem) ;
+    }
+    forEach(solutionList.size(), i -> problem.evaluate(solutionList.get(i), references.get(i))) ;
+    return solutionList ;
+  }
+
+  private void forEach(int size, IntConsumer action) {
+    Semaphore permits = new Semaphore(Math.min(maximumConcurrency, Math.max(size, 1))) ;
+    List<Future<?>> futures = new ArrayList<>(size) ;
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < size; i++) {
+        int index = i ;
+        futures.add(executor.submit(() -> {
+          permits.acquireUninterruptibly() ;
+          try {
+            action.accept(index) ;
+          } finally {
+            permits.release() ;
+          }
+        })) ;
+      }
+      for (Future<?> future : futures) {
+        future.get() ;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt() ;
+      throw new JMetalException("Interrupted while evaluating the solutions") ;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause() ;
+      } else if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause() ;
+      }
+      throw new JMetalException("Error evaluating the solutions: " + e.getCause()) ;
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    // Each call uses its own executor, closed when the evaluations are done
+  }
+}
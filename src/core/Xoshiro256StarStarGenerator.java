@@ -0,0 +1,171 @@
+package core;
+
+/**
+ * xoshiro256** generator (Blackman and Vigna, 2018): 256 bits of state, period 2^256 - 1, a few
+ * shifts, rotations and multiplications per number and no synchronization, which makes it much
+ * cheaper than {@link JavaRandomGenerator} in the operators, that draw several bounded integers
+ * per offspring.
+ *
+ * <p>Bounded integers are unbiased and computed with Lemire's multiply-shift method, that only
+ * needs a division in the rare case where the draw must be rejected. {@link #split()} returns a
+ * copy of the generator and jumps this one 2^128 numbers ahead, so that the streams never overlap.
+ */
+@SuppressWarnings("serial")
+public class Xoshiro256StarStarGenerator implements SplittablePseudoRandomGenerator {
+  private long s0 ;
+  private long s1 ;
+  private long s2 ;
+  private long s3 ;
+  private long seed ;
+  private static final String NAME = "Xoshiro256StarStarGenerator" ;
+
+  private static final long[] JUMP = {
+      0x180ec6d33cfd0abaL, 0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL, 0x39abdc4529b1661cL} ;
+
+  /** Constructor */
+  public Xoshiro256StarStarGenerator() {
+    this(System.currentTimeMillis());
+  }
+
+  /** Constructor */
+  public Xoshiro256StarStarGenerator(long seed) {
+    seed(seed) ;
+  }
+
+  private Xoshiro256StarStarGenerator(Xoshiro256StarStarGenerator generator) {
+    this.s0 = generator.s0 ;
+    this.s1 = generator.s1 ;
+    this.s2 = generator.s2 ;
+    this.s3 = generator.s3 ;
+    this.seed = generator.seed ;
+  }
+
+  @Override
+  public long getSeed() {
+    return seed ;
+  }
+
+  @Override
+  public void setSeed(long seed) {
+    seed(seed) ;
+  }
+
+  /**
+   * The state is filled from the seed with SplitMix64, as recommended by the authors (not
+   * overridable, since the constructor calls it)
+   */
+  private void seed(long seed) {
+    this.seed = seed ;
+    long z = seed ;
+    s0 = mix(z += 0x9E3779B97F4A7C15L) ;
+    s1 = mix(z += 0x9E3779B97F4A7C15L) ;
+    s2 = mix(z += 0x9E3779B97F4A7C15L) ;
+    s3 = mix(z + 0x9E3779B97F4A7C15L) ;
+  }
+
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L ;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL ;
+    return z ^ (z >>> 31) ;
+  }
+
+  public long nextLong() {
+    final long result = Long.rotateLeft(s1 * 5, 7) * 9 ;
+    final long t = s1 << 17 ;
+    s2 ^= s0 ;
+    s3 ^= s1 ;
+    s1 ^= s2 ;
+    s0 ^= s3 ;
+    s2 ^= t ;
+    s3 = Long.rotateLeft(s3, 45) ;
+    return result ;
+  }
+
+  @Override
+  public int nextInt(int lowerBound, int upperBound) {
+    if (upperBound < lowerBound) {
+      throw new JMetalException("The upper bound (" + upperBound + ") is lower than the lower bound ("
+          + lowerBound + ")") ;
+    }
+    return lowerBound + (int) nextBounded((long) upperBound - lowerBound + 1) ;
+  }
+
+  /** Uniform value in [0, range), for 1 <= range <= 2^32 */
+  private long nextBounded(long range) {
+    long product = (nextLong() >>> 32) * range ;
+    long low = product & 0xFFFFFFFFL ;
+    if (low < range) {
+      long threshold = (0x100000000L - range) % range ;
+      while (low < threshold) {
+        product = (nextLong() >>> 32) * range ;
+        low = product & 0xFFFFFFFFL ;
+      }
+    }
+    return product >>> 32 ;
+  }
+
+  @Override
+  public double nextDouble(double lowerBound, double upperBound) {
+    return lowerBound + nextDouble()*(upperBound - lowerBound) ;
+  }
+
+  @Override
+  public double nextDouble() {
+    return (nextLong() >>> 11) * 0x1.0p-53 ;
+  }
+
+  @Override
+  public void nextInts(int[] values, int lowerBound, int upperBound) {
+    if (upperBound < lowerBound) {
+      throw new JMetalException("The upper bound (" + upperBound + ") is lower than the lower bound ("
+          + lowerBound + ")") ;
+    }
+    long range = (long) upperBound - lowerBound + 1 ;
+    for (int i = 0; i < values.length; i++) {
+      values[i] = lowerBound + (int) nextBounded(range) ;
+    }
+  }
+
+  @Override
+  public void nextDoubles(double[] values) {
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (nextLong() >>> 11) * 0x1.0p-53 ;
+    }
+  }
+
+  /** Advances the generator by 2^128 numbers */
+  public void jump() {
+    long t0 = 0, t1 = 0, t2 = 0, t3 = 0 ;
+    for (long jump : JUMP) {
+      for (int b = 0; b < 64; b++) {
+        if ((jump & (1L << b)) != 0) {
+          t0 ^= s0 ;
+          t1 ^= s1 ;
+          t2 ^= s2 ;
+          t3 ^= s3 ;
+        }
+        nextLong() ;
+      }
+    }
+    s0 = t0 ;
+    s1 = t1 ;
+    s2 = t2 ;
+    s3 = t3 ;
+  }
+
+  /**
+   * Returns a generator that continues the sequence of this one, and jumps this one 2^128 numbers
+   * ahead. The new generator reports the same seed.
+   */
+  @Override
+  public Xoshiro256StarStarGenerator split() {
+    Xoshiro256StarStarGenerator generator = new Xoshiro256StarStarGenerator(this) ;
+    jump() ;
+    return generator ;
+  }
+
+  @Override
+  public String getName() {
+    return NAME ;
+  }
+}
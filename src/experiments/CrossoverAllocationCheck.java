@@ -0,0 +1,101 @@
+package experiments;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import core.CrossoverOperator;
+import core.IntArrayPermutationSolution;
+import core.IntegerPermutationSolution;
+import core.JMetalRandom;
+import core.JavaRandomGenerator;
+import core.PermutationSolution;
+import operators.CycleCrossover;
+import operators.OrderCrossover;
+
+/**
+ * Allocation-rate check of the permutation crossovers: the bytes allocated per call (as reported by
+ * the JVM for the current thread) must not exceed those of copying the parents into the offspring,
+ * plus a constant for the list of offspring and the random numbers, boxed by the generators. It
+ * fails, with exit status 1, if a crossover allocates work arrays, sets or boxed values in
+ * proportion to the length of the permutations again.
+ *
+ * Arguments (optional): length of the permutations, number of measured calls.
+ */
+public class CrossoverAllocationCheck {
+	private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+	/** Allowed bytes per call beyond the copies of the parents, whatever the length */
+	private static final double SLACK = 256;
+	private static volatile int sink;
+
+	public static void main(String[] args) {
+		int length = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		int calls = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+
+		JMetalRandom random = new JMetalRandom(new JavaRandomGenerator(1));
+		boolean passed = true;
+		System.out.println("Permutation length " + length + ", " + calls + " calls");
+		for (int round = 0; round < 3; round++) {
+			boolean report = round == 2;
+			passed &= check("OrderCrossover", new OrderCrossover(1.0, random), random,
+					() -> new IntArrayPermutationSolution(length, 2), calls, report);
+			passed &= check("OrderCrossover", new OrderCrossover(1.0, random), random,
+					() -> new IntegerPermutationSolution(length, 2), calls, report);
+			passed &= check("CycleCrossover", new CycleCrossover(1.0, random), random,
+					() -> new IntArrayPermutationSolution(length, 2), calls, report);
+			passed &= check("CycleCrossover", new CycleCrossover(1.0, random), random,
+					() -> new IntegerPermutationSolution(length, 2), calls, report);
+		}
+		if (!passed) {
+			System.out.println("FAILED: a crossover allocates more than the offspring");
+			System.exit(1);
+		}
+		System.out.println("Passed");
+	}
+
+	/** Only the last round is reported and checked, the first ones warm up the JIT compiler */
+	private static boolean check(String name, CrossoverOperator<PermutationSolution<Integer>> crossover,
+			JMetalRandom random, Supplier<PermutationSolution<Integer>> generator, int calls, boolean report) {
+		List<PermutationSolution<Integer>> solutions = new ArrayList<>();
+		random.runBound(() -> {
+			for (int i = 0; i < 100; i++) {
+				solutions.add(generator.get());
+			}
+		});
+		List<List<PermutationSolution<Integer>>> pairs = new ArrayList<>();
+		for (int i = 0; i < solutions.size(); i++) {
+			pairs.add(List.of(solutions.get(i), solutions.get((i + 1) % solutions.size())));
+		}
+
+		double copies = measure(calls, i -> {
+			List<PermutationSolution<Integer>> parents = pairs.get(i % pairs.size());
+			sink += parents.get(0).copy().variables().get(0) + parents.get(1).copy().variables().get(0);
+		});
+		double copy = measure(calls, i -> sink += pairs.get(i % pairs.size()).get(0).copy().variables().get(0));
+		double both = measure(calls, i -> sink += crossover.execute(pairs.get(i % pairs.size())).get(0).variables().get(0));
+		double one = measure(calls, i -> sink += crossover.execute(pairs.get(i % pairs.size()), 1).get(0).variables().get(0));
+
+		boolean passed = both <= copies + SLACK && one <= copy + SLACK;
+		if (report) {
+			String solution = solutions.get(0).getClass().getSimpleName();
+			System.out.printf("  %-16s %-28s two children %8.1f bytes/call (copies %8.1f), one child %8.1f bytes/call (copy %8.1f)%s%n",
+					name, solution, both, copies, one, copy, passed ? "" : "  FAILED");
+		}
+		return !report || passed;
+	}
+
+	private interface Call {
+		void run(int i);
+	}
+
+	private static double measure(int calls, Call call) {
+		long thread = Thread.currentThread().threadId();
+		long bytes = THREADS.getThreadAllocatedBytes(thread);
+		for (int i = 0; i < calls; i++) {
+			call.run(i);
+		}
+		return (double) (THREADS.getThreadAllocatedBytes(thread) - bytes) / calls;
+	}
+}
@@ -85,20 +85,19 @@ public class ExperimentLargePop {
 			System.out.println("Loading problems instances ");
 		long t0 = System.currentTimeMillis();
 		
-		List<Problem> problems = List.of(new
-		  Knapsack01(100).load("D:/SEMOPLS/Data/KP-100.txt"), new
-		  Knapsack01(200).load("D:/SEMOPLS/Data/KP-200.txt"), new 
-		  Knapsack01(500).load("D:/SEMOPLS/Data/KP-500.txt"), new 
-		  MONKLand(100, 10).load("D:/SEMOPLS/Data/NK-100-10.txt"), new 
-		  MONKLand(200, 10).load("D:/SEMOPLS/Data/NK-200-10.txt"), new 
-		  MONKLand(500, 10).load("D:/SEMOPLS/Data/NK-500-10.txt"), new
-		  MOTSP(100).load("D:/SEMOPLS/Data/TSP-100.txt"), new
-		  MOTSP(200).load("D:/SEMOPLS/Data/TSP-200.txt"), new 
-		  MOTSP(500).load("D:/SEMOPLS/Data/TSP-500.txt"), new
-		  MOQAP(100).load("D:/SEMOPLS/Data/QAP-100.txt"), new
-		  MOQAP(500).load("D:/SEMOPLS/Data/QAP-500.txt"), new 
-		  MOQAP(200).load("D:/SEMOPLS/Data/QAP-200.txt")
-		);
+		List<Problem> problems = InstanceFiles.<Problem>loadAll(
+			() -> new Knapsack01(100).load(InstanceFiles.resolve("D:/SEMOPLS/Data/KP-100.txt")),
+			() -> new Knapsack01(200).load(InstanceFiles.resolve("D:/SEMOPLS/Data/KP-200.txt")),
+			() -> new Knapsack01(500).load(InstanceFiles.resolve("D:/SEMOPLS/Data/KP-500.txt")),
+			() -> new MONKLand(100, 10).load(InstanceFiles.resolve("D:/SEMOPLS/Data/NK-100-10.txt")),
+			() -> new MONKLand(200, 10).load(InstanceFiles.resolve("D:/SEMOPLS/Data/NK-200-10.txt")),
+			() -> new MONKLand(500, 10).load(InstanceFiles.resolve("D:/SEMOPLS/Data/NK-500-10.txt")),
+			() -> new MOTSP(100).load(InstanceFiles.resolve("D:/SEMOPLS/Data/TSP-100.txt")),
+			() -> new MOTSP(200).load(InstanceFiles.resolve("D:/SEMOPLS/Data/TSP-200.txt")),
+			() -> new MOTSP(500).load(InstanceFiles.resolve("D:/SEMOPLS/Data/TSP-500.txt")),
+			() -> new MOQAP(100).load(InstanceFiles.resolve("D:/SEMOPLS/Data/QAP-100.txt")),
+			() -> new MOQAP(500).load(InstanceFiles.resolve("D:/SEMOPLS/Data/QAP-500.txt")),
+			() -> new MOQAP(200).load(InstanceFiles.resolve("D:/SEMOPLS/Data/QAP-200.txt")));
 		if (debug)
 			System.out.println("  Done (" + (System.currentTimeMillis() - t0) + "ms)");
 		return problems;
@@ -24,6 +24,7 @@ import core.CrossoverOperator;
 import core.DefaultFileOutputContext;
 import core.DominanceComparator;
 import core.JMetalException;
+import core.JMetalRandom;
 import core.MutationOperator;
 import core.PermutationSolution;
 import core.Problem;
@@ -57,6 +58,14 @@ public class ExperimentPop {
 	private static int maxEval;
 	private static List<Integer> runs;
 	private static int populationSize;
+	private static long seed = 1;
+	/**
+	 * Evaluates the offspring from the objectives of their first parent (see
+	 * {@link SMSEMOA#setDeltaEvaluation(boolean)}); off, so that the objectives are those of complete
+	 * evaluations
+	 */
+	private static boolean deltaEvaluation = false;
+	private static final List<String> ALGORITHMS = List.of("SMSEMOA", "SMSEMOA-RA");
 	
 	public static void main(String[] args)  {
 		maxEval = 10000000;
@@ -67,6 +76,13 @@ public class ExperimentPop {
 		}
 
 		List<Problem> problems = setupProblems();
+		if (deltaEvaluation) {
+			for (Problem problem : problems) {
+				if (problem instanceof Knapsack01) {
+					((Knapsack01) problem).setIncrementalEvaluation(true);
+				}
+			}
+		}
 		
 		List<Integer> runs = new ArrayList<Integer>();
 		final int batch = 3;
@@ -74,7 +90,13 @@ public class ExperimentPop {
 		final int start = 9;
 		for (int i = start; i < start+batch*offset; i=i+offset)
 			runs.add(i);
-		runs.stream().forEach( run -> problems.stream().forEach( problem -> runExperiment(problem, run) ) );
+		int threads = coreNum == null ? Runtime.getRuntime().availableProcessors() : Integer.valueOf(coreNum);
+		ExperimentScheduler scheduler = new ExperimentScheduler(threads, seed);
+		runs.stream().forEach( run -> problems.stream().forEach( problem -> ALGORITHMS.forEach( algorithm ->
+				scheduler.add(problem.getName(), algorithm, run, ExperimentScheduler.estimateCost(problem),
+						new File(experimentBaseDirectory + problem.getName() + "/" + algorithm + "/"),
+						() -> runExperiment(problem, algorithm, run)) ) ) );
+		scheduler.run();
 		
 		System.exit(0);
 	}
@@ -84,20 +106,19 @@ public class ExperimentPop {
 			System.out.println("Loading problems instances ");
 		long t0 = System.currentTimeMillis();
 		
-		List<Problem> problems = List.of(new
-		  Knapsack01(100).load("D:/SEMOPLS/Data/KP-100.txt"), new
-		  Knapsack01(200).load("D:/SEMOPLS/Data/KP-200.txt"), new 
-		  Knapsack01(500).load("D:/SEMOPLS/Data/KP-500.txt"), new 
-		  MONKLand(100, 10).load("D:/SEMOPLS/Data/NK-100-10.txt"), new 
-		  MONKLand(200, 10).load("D:/SEMOPLS/Data/NK-200-10.txt"), new 
-		  MONKLand(500, 10).load("D:/SEMOPLS/Data/NK-500-10.txt"), new
-		  MOTSP(100).load("D:/SEMOPLS/Data/TSP-100.txt"), new
-		  MOTSP(200).load("D:/SEMOPLS/Data/TSP-200.txt"), new 
-		  MOTSP(500).load("D:/SEMOPLS/Data/TSP-500.txt"), new
-		  MOQAP(100).load("D:/SEMOPLS/Data/QAP-100.txt"), new
-		  MOQAP(500).load("D:/SEMOPLS/Data/QAP-500.txt"), new 
-		  MOQAP(200).load("D:/SEMOPLS/Data/QAP-200.txt")
-		);
+		List<Problem> problems = InstanceFiles.<Problem>loadAll(
+			() -> new Knapsack01(100).load(InstanceFiles.resolve("D:/SEMOPLS/Data/KP-100.txt")),
+			() -> new Knapsack01(200).load(InstanceFiles.resolve("D:/SEMOPLS/Data/KP-200.txt")),
+			() -> new Knapsack01(500).load(InstanceFiles.resolve("D:/SEMOPLS/Data/KP-500.txt")),
+			() -> new MONKLand(100, 10).load(InstanceFiles.resolve("D:/SEMOPLS/Data/NK-100-10.txt")),
+			() -> new MONKLand(200, 10).load(InstanceFiles.resolve("D:/SEMOPLS/Data/NK-200-10.txt")),
+			() -> new MONKLand(500, 10).load(InstanceFiles.resolve("D:/SEMOPLS/Data/NK-500-10.txt")),
+			() -> new MOTSP(100).load(InstanceFiles.resolve("D:/SEMOPLS/Data/TSP-100.txt")),
+			() -> new MOTSP(200).load(InstanceFiles.resolve("D:/SEMOPLS/Data/TSP-200.txt")),
+			() -> new MOTSP(500).load(InstanceFiles.resolve("D:/SEMOPLS/Data/TSP-500.txt")),
+			() -> new MOQAP(100).load(InstanceFiles.resolve("D:/SEMOPLS/Data/QAP-100.txt")),
+			() -> new MOQAP(500).load(InstanceFiles.resolve("D:/SEMOPLS/Data/QAP-500.txt")),
+			() -> new MOQAP(200).load(InstanceFiles.resolve("D:/SEMOPLS/Data/QAP-200.txt")));
 		if (debug)
 			System.out.println("  Done (" + (System.currentTimeMillis() - t0) + "ms)");
 		return problems;
@@ -121,16 +142,19 @@ public class ExperimentPop {
     }
 
 
+	/** Runs all the algorithms on the problem, one after the other */
 	public static void runExperiment(Problem problem, int run) {
-		var ref = getReferencePoints();
+		ALGORITHMS.forEach(algorithm -> runExperiment(problem, algorithm, run));
+	}
+
+	public static void runExperiment(Problem problem, String algorithm, int run) {
+		double[] referencePoint = getReferencePoints().get(problem.getName());
+		// the operators and the run draw from the instance of the task (see ExperimentScheduler)
+		// without looking it up at every draw
+		JMetalRandom random = JMetalRandom.getInstance();
 		long t0, duration;
 		
-		SMSEMOA alg1 = createSMSEMOA(problem);
-		SMSEMOARA alg2 = createSMSEMOARA(problem);
-		
-		ArrayList<Double> hv1 = new ArrayList<Double>();
-		ArrayList<Double> hv2 = new ArrayList<Double>();
-		
+		ArrayList<Double> hv = new ArrayList<Double>();
 		
 		Consumer<ZAlgorithm> monitor = alg -> {
 			if (alg.getT() < 10 || (alg.getEvaluations() >= 10 && alg.getEvaluations() < 100 && alg.getEvaluations()%10==0) 
@@ -139,32 +163,35 @@ public class ExperimentPop {
 					|| (alg.getEvaluations() >= 10000 && alg.getEvaluations() < 100000 && alg.getEvaluations() % 10000 == 0) 
 					|| (alg.getEvaluations() >= 100000 && alg.getEvaluations() < 1000000 && alg.getEvaluations() % 100000 == 0) 
 					|| (alg.getEvaluations() >= 1000000 &&  alg.getEvaluations() % 1000000 == 0)){
-				if (alg.getName().contentEquals("SMSEMOA")) {
-					hv1.add(calculateHypervolumeMin(alg.getArchive(), ref.get(problem.getName())));
-				} else if (alg.getName().contentEquals("SMSEMOA-RA")) {
-					hv2.add(calculateHypervolumeMin(alg.getArchive(), ref.get(problem.getName())));
-				}
+				hv.add(alg.getArchiveHypervolume());
 				if (alg.getEvaluations()==100000 || alg.getEvaluations()==1000000) {
 					saveMiddleResult(alg, run, alg.getEvaluations());
 				}
 			}
 		};
 		
-		alg1.setMonitor(monitor);
-		t0 = System.currentTimeMillis();
-		alg1.run();
-		duration = System.currentTimeMillis() - t0;
-		saveResult(alg1, duration, run);
-		saveList(hv1, experimentBaseDirectory+problem.getName()+"/"+alg1.getName()+"/hv-"+run+".txt");
+		ZAlgorithm alg;
+		if (algorithm.contentEquals("SMSEMOA")) {
+			SMSEMOA smsemoa = createSMSEMOA(problem, random);
+			smsemoa.setRandom(random);
+			smsemoa.trackArchiveHypervolume(referencePoint);
+			smsemoa.setMonitor(monitor);
+			alg = smsemoa;
+		} else if (algorithm.contentEquals("SMSEMOA-RA")) {
+			SMSEMOARA smsemoara = createSMSEMOARA(problem, random);
+			smsemoara.setRandom(random);
+			smsemoara.trackArchiveHypervolume(referencePoint);
+			smsemoara.setMonitor(monitor);
+			alg = smsemoara;
+		} else {
+			throw new JMetalException("Unknown algorithm: " + algorithm);
+		}
 		
-		alg2.setMonitor(monitor);
 		t0 = System.currentTimeMillis();
-		alg2.run();
+		alg.run();
 		duration = System.currentTimeMillis() - t0;
-		saveResult(alg2, duration, run);
-		saveList(hv2, experimentBaseDirectory+problem.getName()+"/"+alg2.getName()+"/hv-"+run+".txt");
-		
-		
+		saveResult(alg, duration, run);
+		saveList(hv, experimentBaseDirectory+problem.getName()+"/"+alg.getName()+"/hv-"+run+".txt");
 	}
 
 	
@@ -272,43 +299,45 @@ public class ExperimentPop {
 		}
 	}
 	
-	private static CrossoverOperator chooseCrossover(Problem problem) {
-		return problem.createSolution() instanceof BinarySolution ? new SinglePointCrossover(1.0)
-				: (problem.getName().contains("QAP") ? new CycleCrossover(1.0) : new OrderCrossover(1.0));
+	private static CrossoverOperator chooseCrossover(Problem problem, JMetalRandom random) {
+		return problem.createSolution() instanceof BinarySolution ? new SinglePointCrossover(1.0, random)
+				: (problem.getName().contains("QAP") ? new CycleCrossover(1.0, random) : new OrderCrossover(1.0, random));
 	}
 
-	private static MutationOperator chooseMutation(Problem problem) {
+	private static MutationOperator chooseMutation(Problem problem, JMetalRandom random) {
 		return problem.createSolution() instanceof BinarySolution
-				? new BitFlipMutation(1.0 / problem.getNumberOfVariables())
-				: (problem.getName().contains("QAP") ? new PermutationSwapMutation(0.05) : new InversionMutation(0.05));
+				? new BitFlipMutation(1.0 / problem.getNumberOfVariables(), random)
+				: (problem.getName().contains("QAP") ? new PermutationSwapMutation(0.05, random) : new InversionMutation(0.05, random));
 	}
 	
 	
-	public static SMSEMOA createSMSEMOA(Problem problem) {
+	public static SMSEMOA createSMSEMOA(Problem problem, JMetalRandom random) {
 		int N = populationSize;
-		CrossoverOperator crossover = chooseCrossover(problem);
-		MutationOperator mutation = chooseMutation(problem);
-		SelectionOperator selection = new RandomSelection();
+		CrossoverOperator crossover = chooseCrossover(problem, random);
+		MutationOperator mutation = chooseMutation(problem, random);
+		SelectionOperator selection = new RandomSelection(random);
 
 		Hypervolume hv = new WFGHypervolume();
 		double offset = 100.0;
 
 		SMSEMOA smsemoa = new SMSEMOA(problem, maxEval, N, offset, crossover, mutation, selection,
 				new DominanceComparator(), hv);
+		smsemoa.setDeltaEvaluation(deltaEvaluation);
 		return smsemoa;
 	}
 
-	public static SMSEMOARA createSMSEMOARA(Problem problem) {
+	public static SMSEMOARA createSMSEMOARA(Problem problem, JMetalRandom random) {
 		int N = populationSize;
-		CrossoverOperator crossover = chooseCrossover(problem);
-		MutationOperator mutation = chooseMutation(problem);
-		SelectionOperator selection = new RandomSelection();
+		CrossoverOperator crossover = chooseCrossover(problem, random);
+		MutationOperator mutation = chooseMutation(problem, random);
+		SelectionOperator selection = new RandomSelection(random);
 
 		Hypervolume hv = new WFGHypervolume();
 		double offset = 100.0;
 
 		SMSEMOARA smsemoa = new SMSEMOARA(problem, maxEval, N, offset, crossover, mutation, selection,
 				new DominanceComparator(), hv);
+		smsemoa.setDeltaEvaluation(deltaEvaluation);
 		return smsemoa;
 	}
 
@@ -367,9 +396,9 @@ public class ExperimentPop {
         File file = new File(filename);
         File parentDir = file.getParentFile();
 
-        // Create parent directory if it does not exist
+        // Create parent directory if it does not exist (another task may be creating it too)
         if (parentDir != null && !parentDir.exists()) {
-            boolean dirCreated = parentDir.mkdirs();
+            boolean dirCreated = parentDir.mkdirs() || parentDir.isDirectory();
             if (!dirCreated) {
                 System.err.println("Failed to create directory: " + parentDir.getAbsolutePath());
                 return;
@@ -0,0 +1,255 @@
+package experiments;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import core.JMetalException;
+import core.JMetalRandom;
+import core.Problem;
+import problems.MOQAP;
+
+/**
+ * Runs the grid of problem x algorithm x run of an experiment as independent tasks on a bounded
+ * number of threads: each thread takes the next task of the list that is not started yet, until
+ * there is none left.
+ *
+ * The tasks are started by decreasing expected cost (longest first), so that the long QAP-500 runs
+ * do not end up alone at the end of the experiment. Each task draws its random numbers from its own
+ * {@link JMetalRandom} instance (see {@link JMetalRandom#bind(long)}), seeded with a value that only
+ * depends on the base seed, the problem, the algorithm and the run, so the results do not depend on
+ * the number of threads nor on the order in which the tasks are executed: {@link #run()} gives the
+ * same results as {@link #runSequentially()}. A failing task does not stop the others; once they
+ * are all done, the run fails with the failures of all the tasks (see {@link #run()}).
+ */
+public class ExperimentScheduler {
+
+	public static class Task {
+		private final String problem;
+		private final String algorithm;
+		private final int run;
+		private final double cost;
+		private final long seed;
+		private final File outputDirectory;
+		private final Runnable body;
+
+		private Task(String problem, String algorithm, int run, double cost, long seed, File outputDirectory,
+				Runnable body) {
+			this.problem = problem;
+			this.algorithm = algorithm;
+			this.run = run;
+			this.cost = cost;
+			this.seed = seed;
+			this.outputDirectory = outputDirectory;
+			this.body = body;
+		}
+
+		public String getProblem() {
+			return problem;
+		}
+
+		public String getAlgorithm() {
+			return algorithm;
+		}
+
+		public int getRun() {
+			return run;
+		}
+
+		public double getCost() {
+			return cost;
+		}
+
+		public long getSeed() {
+			return seed;
+		}
+
+		public File getOutputDirectory() {
+			return outputDirectory;
+		}
+
+		@Override
+		public String toString() {
+			return problem + " " + algorithm + " run " + run;
+		}
+	}
+
+	private final int parallelism;
+	private final long baseSeed;
+	private final List<Task> tasks = new ArrayList<Task>();
+
+	/**
+	 * @param parallelism Maximum number of tasks running at the same time
+	 * @param baseSeed    Seed from which the seeds of the tasks are derived
+	 */
+	public ExperimentScheduler(int parallelism, long baseSeed) {
+		if (parallelism < 1) {
+			throw new JMetalException("The parallelism must be at least 1: " + parallelism);
+		}
+		this.parallelism = parallelism;
+		this.baseSeed = baseSeed;
+	}
+
+	/**
+	 * Adds a task to the experiment
+	 *
+	 * @param cost            Expected cost, only used to order the tasks (see
+	 *                        {@link #estimateCost(Problem)})
+	 * @param outputDirectory Directory where the task writes its results, created before the task
+	 *                        starts (may be null)
+	 */
+	public Task add(String problem, String algorithm, int run, double cost, File outputDirectory, Runnable body) {
+		Task task = new Task(problem, algorithm, run, cost, seed(baseSeed, problem, algorithm, run), outputDirectory,
+				body);
+		tasks.add(task);
+		return task;
+	}
+
+	/** Tasks in the order they are started: by decreasing cost, then in the order they were added */
+	public List<Task> getTasks() {
+		List<Task> ordered = new ArrayList<Task>(tasks);
+		ordered.sort(Comparator.comparingDouble(Task::getCost).reversed());
+		return Collections.unmodifiableList(ordered);
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Runs the tasks on {@link #getParallelism()} threads and waits for all of them
+	 *
+	 * @throws JMetalException if a task failed, once all the tasks are done: its cause is the first
+	 *                         failure and the others are suppressed exceptions
+	 */
+	public void run() {
+		List<Task> ordered = getTasks();
+		int workers = Math.min(parallelism, ordered.size());
+		if (workers <= 1) {
+			runSequentially();
+			return;
+		}
+
+		AtomicInteger next = new AtomicInteger();
+		List<Failure> failures = Collections.synchronizedList(new ArrayList<Failure>());
+		List<Callable<Void>> loops = new ArrayList<Callable<Void>>();
+		for (int i = 0; i < workers; i++) {
+			loops.add(() -> {
+				int index;
+				while ((index = next.getAndIncrement()) < ordered.size()) {
+					execute(ordered.get(index), failures);
+				}
+				return null;
+			});
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(workers);
+		try {
+			for (Future<Void> loop : pool.invokeAll(loops)) {
+				loop.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JMetalException("Interrupted while running the experiment");
+		} catch (ExecutionException e) {
+			throw new JMetalException("Error running the experiment: " + e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+		checkFailures(failures, ordered.size());
+	}
+
+	/**
+	 * Runs the tasks one after the other in the calling thread, in the same order as {@link #run()},
+	 * and fails in the same way
+	 */
+	public void runSequentially() {
+		List<Task> ordered = getTasks();
+		List<Failure> failures = new ArrayList<Failure>();
+		for (Task task : ordered) {
+			execute(task, failures);
+		}
+		checkFailures(failures, ordered.size());
+	}
+
+	/**
+	 * A failing task does not stop the others: the failure is recorded, and thrown by
+	 * {@link #checkFailures(List, int)} when all the tasks are done
+	 */
+	private void execute(Task task, List<Failure> failures) {
+		if (task.outputDirectory != null) {
+			task.outputDirectory.mkdirs();
+		}
+		JMetalRandom.bind(task.seed);
+		try {
+			task.body.run();
+		} catch (RuntimeException | Error e) {
+			System.err.println("Task " + task + " failed: " + e);
+			failures.add(new Failure(task, e));
+		} finally {
+			JMetalRandom.unbind();
+		}
+	}
+
+	private static void checkFailures(List<Failure> failures, int numberOfTasks) {
+		if (failures.isEmpty()) {
+			return;
+		}
+		StringBuilder message = new StringBuilder();
+		message.append(failures.size()).append(" of ").append(numberOfTasks).append(" tasks failed:");
+		for (Failure failure : failures) {
+			message.append("\n  ").append(failure.task).append(": ").append(failure.exception);
+		}
+		JMetalException exception = new JMetalException(message.toString());
+		exception.initCause(failures.get(0).exception);
+		for (int i = 1; i < failures.size(); i++) {
+			exception.addSuppressed(failures.get(i).exception);
+		}
+		throw exception;
+	}
+
+	private static class Failure {
+		final Task task;
+		final Throwable exception;
+
+		Failure(Task task, Throwable exception) {
+			this.task = task;
+			this.exception = exception;
+		}
+	}
+
+	/**
+	 * Seed of a task, derived from the base seed and the identity of the task with SplitMix64 so that
+	 * neighbouring runs get unrelated seeds
+	 */
+	public static long seed(long baseSeed, String problem, String algorithm, int run) {
+		long seed = mix(baseSeed + problem.hashCode());
+		seed = mix(seed + algorithm.hashCode());
+		return mix(seed + run);
+	}
+
+	private static long mix(long z) {
+		z += 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Relative cost of an evaluation of the problem, used to start the longest runs first: a QAP
+	 * evaluation is a double loop over the permutation, the evaluation of the other problems is linear
+	 * in the number of variables
+	 */
+	public static double estimateCost(Problem<?> problem) {
+		double n = problem.getNumberOfVariables();
+		double m = problem.getNumberOfObjectives();
+		return problem instanceof MOQAP ? m * n * n : m * n;
+	}
+}
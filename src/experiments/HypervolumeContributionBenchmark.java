@@ -0,0 +1,115 @@
+package experiments;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import core.PointSolution;
+import indicator.HypervolumeContributionEngine;
+import indicator.WFGHypervolume;
+
+/**
+ * Microbenchmark of the bi-objective hypervolume contribution kernel: time and bytes allocated per
+ * call (as reported by the JVM for the current thread), for the primitive kernel of
+ * {@link HypervolumeContributionEngine}, the boxed kernel it replaced, and the whole
+ * {@link WFGHypervolume#computeHypervolumeContribution(List, List)} step of SMS-EMOA.
+ *
+ * Arguments (optional): front size, number of measured calls.
+ */
+public class HypervolumeContributionBenchmark {
+	private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+		int calls = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+
+		Random random = new Random(1);
+		double[][] front = new double[size][2];
+		List<PointSolution> solutions = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			double x = random.nextDouble();
+			front[i][0] = 1.0 + x;
+			front[i][1] = 2.0 - x;
+			PointSolution solution = new PointSolution(2);
+			solution.objectives()[0] = x;
+			solution.objectives()[1] = 1.0 - x;
+			solutions.add(solution);
+		}
+
+		HypervolumeContributionEngine engine = new HypervolumeContributionEngine();
+		double[] contributions = new double[size];
+		WFGHypervolume<PointSolution> hypervolume = new WFGHypervolume<>();
+		List<PointSolution> copy = new ArrayList<>(solutions);
+
+		System.out.println("Front size " + size + ", " + calls + " calls");
+		for (int round = 0; round < 3; round++) {
+			boolean report = round == 2;
+
+			measure("primitive kernel", calls, report, () -> engine.contributionsBiObjective(front, size, contributions));
+			measure("boxed kernel (previous)", calls, report, () -> boxedContributions(front));
+			measure("computeHypervolumeContribution", calls / 10, report, () -> {
+				copy.clear();
+				copy.addAll(solutions);
+				hypervolume.computeHypervolumeContribution(copy, solutions);
+			});
+		}
+	}
+
+	private static void measure(String name, int calls, boolean report, Runnable call) {
+		long thread = Thread.currentThread().threadId();
+		long bytes = THREADS.getThreadAllocatedBytes(thread);
+		long start = System.nanoTime();
+		for (int i = 0; i < calls; i++) {
+			call.run();
+		}
+		long time = System.nanoTime() - start;
+		bytes = THREADS.getThreadAllocatedBytes(thread) - bytes;
+
+		if (report) {
+			System.out.printf("  %-32s %10.1f ns/call %10.1f bytes/call%n", name, (double) time / calls,
+					(double) bytes / calls);
+		}
+	}
+
+	/**
+	 * The kernel formerly used by WFGHypervolume for two objectives: boxed indices and two points
+	 * allocated per comparison
+	 */
+	private static double[] boxedContributions(double[][] front) {
+		int m = front.length;
+		List<Integer> indices = new ArrayList<>(m);
+		for (int i = 0; i < m; i++) {
+			indices.add(i);
+		}
+
+		Comparator<Integer> comparator = (i, j) -> {
+			double[] pi = front[i].clone();
+			double[] pj = front[j].clone();
+			for (int k = 1; k >= 0; k--) {
+				if (pi[k] > pj[k]) {
+					return -1;
+				} else if (pj[k] > pi[k]) {
+					return 1;
+				}
+			}
+			return 0;
+		};
+		Collections.sort(indices, comparator);
+
+		double[] contributions = new double[m];
+		for (int rank = 0; rank < m; rank++) {
+			int index = indices.get(rank);
+			if (rank == 0) {
+				contributions[index] = front[index][0] * front[index][1];
+			} else {
+				int previous = indices.get(rank - 1);
+				contributions[index] = front[index][1] * (front[index][0] - front[previous][0]);
+			}
+		}
+		return contributions;
+	}
+}
@@ -0,0 +1,121 @@
+package experiments;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import core.JMetalException;
+import core.JMetalRandom;
+import problems.Knapsack01;
+import problems.MONKLand;
+import problems.MOQAP;
+import problems.MOTSP;
+
+/**
+ * Conversion of the text instance files to the binary format of {@link problems.BinaryInstance},
+ * and loading of the instances of an experiment.
+ *
+ * Run once with the text files as arguments to write the binary files next to them, e.g.
+ * {@code java experiments.InstanceFiles D:/SEMOPLS/Data/KP-100.txt D:/SEMOPLS/Data/QAP-500.txt};
+ * the kind and the size of each instance are taken from the name of the file (KP-n, NK-n-k, TSP-n,
+ * QAP-n). The experiments then load the binary files through {@link #resolve(String)}.
+ */
+public class InstanceFiles {
+
+	public static void main(String[] args) {
+		if (args.length == 0) {
+			System.out.println("Usage: InstanceFiles <text instance file>...");
+			return;
+		}
+		for (String path : args) {
+			long t0 = System.currentTimeMillis();
+			String binaryPath = convert(path);
+			System.out.println(path + " -> " + binaryPath + " (" + (System.currentTimeMillis() - t0) + "ms)");
+		}
+	}
+
+	/** The binary version of a text instance file: the same name with the extension .bin */
+	public static String binaryPath(String textPath) {
+		int dot = textPath.lastIndexOf('.');
+		int separator = Math.max(textPath.lastIndexOf('/'), textPath.lastIndexOf('\\'));
+		return (dot > separator ? textPath.substring(0, dot) : textPath) + ".bin";
+	}
+
+	/** The binary version of the instance file if it has been converted, the text file otherwise */
+	public static String resolve(String textPath) {
+		String binaryPath = binaryPath(textPath);
+		return new File(binaryPath).isFile() ? binaryPath : textPath;
+	}
+
+	/**
+	 * Converts a text instance file to the binary format
+	 *
+	 * @return The path of the binary file
+	 */
+	public static String convert(String textPath) {
+		File file = new File(textPath);
+		if (!file.isFile()) {
+			throw new JMetalException("Instance file not found: " + textPath);
+		}
+		String binaryPath = binaryPath(textPath);
+		String name = file.getName();
+		String[] tokens = (name.contains(".") ? name.substring(0, name.lastIndexOf('.')) : name).split("-");
+		try {
+			switch (tokens[0]) {
+			case "KP":
+				new Knapsack01(Integer.parseInt(tokens[1])).load(textPath).saveBinary(binaryPath);
+				break;
+			case "NK":
+				new MONKLand(Integer.parseInt(tokens[1]), Integer.parseInt(tokens[2])).load(textPath)
+						.saveBinary(binaryPath);
+				break;
+			case "TSP":
+				new MOTSP(Integer.parseInt(tokens[1])).load(textPath).saveBinary(binaryPath);
+				break;
+			case "QAP":
+				new MOQAP(Integer.parseInt(tokens[1])).load(textPath).saveBinary(binaryPath);
+				break;
+			default:
+				throw new JMetalException("Unknown kind of instance: " + name);
+			}
+		} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			throw new JMetalException("The size of the instance is not in the name of the file: " + name);
+		}
+		return binaryPath;
+	}
+
+	/**
+	 * Loads the instances in parallel and returns them in the order of the loaders. Each loader
+	 * draws from its own {@link JMetalRandom} instance (the problems generate a random instance
+	 * before loading the file), so loading does not change the state of the shared one.
+	 */
+	@SafeVarargs
+	public static <P> List<P> loadAll(Supplier<? extends P>... loaders) {
+		List<CompletableFuture<P>> futures = new ArrayList<CompletableFuture<P>>(loaders.length);
+		for (int i = 0; i < loaders.length; i++) {
+			Supplier<? extends P> loader = loaders[i];
+			long seed = i;
+			futures.add(CompletableFuture.supplyAsync(() -> {
+				JMetalRandom.bind(seed);
+				try {
+					return loader.get();
+				} finally {
+					JMetalRandom.unbind();
+				}
+			}));
+		}
+
+		List<P> problems = new ArrayList<P>(loaders.length);
+		try {
+			for (CompletableFuture<P> future : futures) {
+				problems.add(future.join());
+			}
+		} catch (CompletionException e) {
+			throw new JMetalException("Error loading the instances: " + e.getCause());
+		}
+		return problems;
+	}
+}
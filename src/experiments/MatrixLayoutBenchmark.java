@@ -0,0 +1,121 @@
+package experiments;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import core.JMetalRandom;
+import core.PermutationSolution;
+import core.Problem;
+import problems.MOQAP;
+import problems.MOTSP;
+import problems.MatrixLayout;
+
+/**
+ * Throughput of the full evaluation of TSP-500 and QAP-500 with each layout of the matrices (see
+ * {@link MatrixLayout}), in double and in single precision, on random instances or on the instance
+ * files given as arguments. The objectives of each layout are compared with the ones of the jagged
+ * arrays. When the program is started with --add-modules jdk.incubator.vector, the vector kernel of
+ * MOQAP is measured as well.
+ *
+ * Arguments (optional): TSP instance file, QAP instance file.
+ */
+public class MatrixLayoutBenchmark {
+	private static volatile double sink;
+
+	public static void main(String[] args) {
+		JMetalRandom.getInstance().setSeed(1);
+		MOTSP tsp = args.length > 0 ? new MOTSP(500).load(args[0]) : new MOTSP(500);
+		MOQAP qap = args.length > 1 ? new MOQAP(500).load(args[1]) : new MOQAP(500);
+
+		for (int round = 0; round < 3; round++) {
+			boolean report = round == 2;
+			for (MatrixLayout layout : MatrixLayout.values()) {
+				for (boolean singlePrecision : new boolean[] { false, true }) {
+					if (layout == MatrixLayout.JAGGED && singlePrecision) {
+						continue;
+					}
+					benchmark(tsp, layout, singlePrecision, 20000, report);
+					benchmark(qap, layout, singlePrecision, 200, report);
+				}
+			}
+			if (MOQAP.isVectorApiAvailable()) {
+				benchmarkVectorized(qap, 200, report);
+			}
+		}
+	}
+
+	private static void benchmarkVectorized(MOQAP problem, int evaluations, boolean report) {
+		List<PermutationSolution<Integer>> solutions = new ArrayList<>();
+		List<double[]> reference = new ArrayList<>();
+		problem.setMatrixLayout(MatrixLayout.JAGGED, false);
+		problem.setVectorized(false);
+		for (int i = 0; i < 100; i++) {
+			solutions.add(problem.createSolution());
+			reference.add(problem.evaluate(solutions.get(i)).objectives().clone());
+		}
+
+		problem.setVectorized(true);
+		double error = 0;
+		for (int i = 0; i < solutions.size(); i++) {
+			double[] objectives = problem.evaluate(solutions.get(i)).objectives();
+			for (int k = 0; k < objectives.length; k++) {
+				error = Math.max(error, Math.abs(objectives[k] / reference.get(i)[k] - 1));
+			}
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < evaluations; i++) {
+			sink += problem.evaluate(solutions.get(i % solutions.size())).objectives()[0];
+		}
+		long time = System.nanoTime() - start;
+		problem.setVectorized(false);
+
+		if (report) {
+			System.out.printf("%-8s %-20s %12.0f evaluations/s   max relative error %.1e%n", problem.getName(),
+					"JAGGED double vector", evaluations * 1e9 / time, error);
+		}
+	}
+
+	private static void benchmark(Problem<PermutationSolution<Integer>> problem, MatrixLayout layout,
+			boolean singlePrecision, int evaluations, boolean report) {
+		List<PermutationSolution<Integer>> solutions = new ArrayList<>();
+		List<double[]> reference = new ArrayList<>();
+		setLayout(problem, MatrixLayout.JAGGED, false);
+		for (int i = 0; i < 100; i++) {
+			solutions.add(problem.createSolution());
+			reference.add(problem.evaluate(solutions.get(i)).objectives().clone());
+		}
+
+		// the first evaluation makes the flat copies
+		setLayout(problem, layout, singlePrecision);
+		double error = 0;
+		for (int i = 0; i < solutions.size(); i++) {
+			double[] objectives = problem.evaluate(solutions.get(i)).objectives();
+			for (int k = 0; k < objectives.length; k++) {
+				error = Math.max(error, Math.abs(objectives[k] / reference.get(i)[k] - 1));
+			}
+		}
+
+
+		long start = System.nanoTime();
+		for (int i = 0; i < evaluations; i++) {
+			sink += problem.evaluate(solutions.get(i % solutions.size())).objectives()[0];
+		}
+		long time = System.nanoTime() - start;
+
+		if (report) {
+			String name = layout + (singlePrecision ? " float" : " double");
+			System.out.printf("%-8s %-20s %12.0f evaluations/s   max relative error %.1e%n", problem.getName(), name,
+					evaluations * 1e9 / time, error);
+		}
+	}
+
+	private static void setLayout(Problem<PermutationSolution<Integer>> problem, MatrixLayout layout,
+			boolean singlePrecision) {
+		if (problem instanceof MOTSP) {
+			((MOTSP) problem).setMatrixLayout(layout, singlePrecision);
+		} else {
+			((MOQAP) problem).setMatrixLayout(layout, singlePrecision);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package experiments;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import core.BinarySolution;
+import core.DefaultBinarySolution;
+import core.IntegerPermutationSolution;
+import core.JMetalRandom;
+import core.JavaRandomGenerator;
+import core.PermutationSolution;
+import core.PseudoRandomGenerator;
+import core.SplittableRandomGenerator;
+import core.Xoshiro256StarStarGenerator;
+import operators.BitFlipMutation;
+import operators.InversionMutation;
+import operators.OrderCrossover;
+import operators.RandomSelection;
+import operators.SinglePointCrossover;
+
+/**
+ * Microbenchmark of the pseudo-random generators in the loops where the search spends its random
+ * numbers: bounded integers alone, and one offspring of each kind of problem (selection, crossover
+ * and mutation of permutations and of bit strings), with the operators drawing from a
+ * {@link JMetalRandom} instance built on each generator.
+ *
+ * Arguments (optional): length of the solutions, number of measured calls.
+ */
+public class RandomGeneratorBenchmark {
+	private static volatile int sink;
+
+	public static void main(String[] args) {
+		int length = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		int calls = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+
+		System.out.println("Solution length " + length + ", " + calls + " calls");
+		for (int round = 0; round < 3; round++) {
+			boolean report = round == 2;
+			benchmark(new JavaRandomGenerator(1), length, calls, report);
+			benchmark(new SplittableRandomGenerator(1), length, calls, report);
+			benchmark(new Xoshiro256StarStarGenerator(1), length, calls, report);
+		}
+	}
+
+	private static void benchmark(PseudoRandomGenerator generator, int length, int calls, boolean report) {
+		JMetalRandom random = new JMetalRandom(generator);
+		List<PermutationSolution<Integer>> permutations = new ArrayList<>();
+		List<BinarySolution> bitStrings = new ArrayList<>();
+		random.runBound(() -> {
+			for (int i = 0; i < 100; i++) {
+				permutations.add(new IntegerPermutationSolution(length, 2));
+				bitStrings.add(new DefaultBinarySolution(List.of(length), 2));
+			}
+		});
+
+		RandomSelection<PermutationSolution<Integer>> permutationSelection = new RandomSelection<>(random);
+		OrderCrossover orderCrossover = new OrderCrossover(1.0, random);
+		InversionMutation<Integer> inversion = new InversionMutation<>(1.0, random);
+		RandomSelection<BinarySolution> bitStringSelection = new RandomSelection<>(random);
+		SinglePointCrossover singlePoint = new SinglePointCrossover(1.0, random);
+		BitFlipMutation bitFlip = new BitFlipMutation(1.0 / length, random);
+		int[] values = new int[length];
+
+		if (report) {
+			System.out.println(generator.getName());
+		}
+		measure("nextInt(0, length - 1)", calls * 10, report, () -> sink += random.nextInt(0, length - 1));
+		measure("nextInts (batch of length)", calls / 10, report, () -> {
+			random.nextInts(values, 0, length - 1);
+			sink += values[0];
+		});
+		measure("permutation offspring", calls, report, () -> {
+			List<PermutationSolution<Integer>> parents = List.of(permutationSelection.execute(permutations),
+					permutationSelection.execute(permutations));
+			sink += inversion.execute(orderCrossover.execute(parents, 1).get(0)).variables().get(0);
+		});
+		measure("bit string offspring", calls, report, () -> {
+			List<BinarySolution> parents = List.of(bitStringSelection.execute(bitStrings),
+					bitStringSelection.execute(bitStrings));
+			sink += bitFlip.execute(singlePoint.execute(parents, 1).get(0)).variables().get(0).cardinality();
+		});
+	}
+
+	private static void measure(String name, int calls, boolean report, Runnable call) {
+		long start = System.nanoTime();
+		for (int i = 0; i < calls; i++) {
+			call.run();
+		}
+		long time = System.nanoTime() - start;
+
+		if (report) {
+			System.out.printf("  %-32s %10.1f ns/call%n", name, (double) time / calls);
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package experiments;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import algorithms.SMSEMOA;
+import core.DominanceComparator;
+import core.JMetalRandom;
+import core.JavaRandomGenerator;
+import core.Problem;
+import core.Solution;
+import core.SolutionPool;
+import indicator.WFGHypervolume;
+import operators.BitFlipMutation;
+import operators.IncrementalHypervolumeReplacement;
+import operators.InversionMutation;
+import operators.OrderCrossover;
+import operators.RandomSelection;
+import operators.SinglePointCrossover;
+import problems.Knapsack01;
+import problems.MOTSP;
+
+/**
+ * Garbage collection of SMS-EMOA runs without and with a {@link SolutionPool}: time, bytes allocated
+ * by the thread of the run, and number and time of the collections (as reported by the JVM, for all
+ * the collectors), on a knapsack and a TSP instance. Both runs of a pair must give the same archive,
+ * since the pool only changes where the offspring are written.
+ *
+ * The young generation is small compared to the heap of most machines; the difference is clearer
+ * with a fixed small heap, e.g. -Xmx256m.
+ *
+ * Arguments (optional): number of evaluations, population size.
+ */
+public class SolutionPoolBenchmark {
+	private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+
+	public static void main(String[] args) {
+		int evaluations = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		int populationSize = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+		JMetalRandom.getInstance().setSeed(1);
+		Knapsack01 knapsack = new Knapsack01(500);
+		MOTSP tsp = new MOTSP(200);
+
+		boolean same = true;
+		System.out.println(evaluations + " evaluations, population " + populationSize);
+		for (int round = 0; round < 3; round++) {
+			boolean report = round == 2;
+			same &= compare(knapsack, evaluations, populationSize, report);
+			same &= compare(tsp, evaluations, populationSize, report);
+		}
+		System.out.println(same ? "Same archives with and without the pool" : "FAILED: the archives differ");
+		if (!same) {
+			System.exit(1);
+		}
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static boolean compare(Problem problem, int evaluations, int populationSize, boolean report) {
+		List<double[]> withoutPool = run(problem, evaluations, populationSize, false, report);
+		List<double[]> withPool = run(problem, evaluations, populationSize, true, report);
+		if (withoutPool.size() != withPool.size()) {
+			return false;
+		}
+		for (int i = 0; i < withPool.size(); i++) {
+			if (!Arrays.equals(withoutPool.get(i), withPool.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Runs SMS-EMOA with the operators of the experiments and returns the objectives of its archive */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static List<double[]> run(Problem problem, int evaluations, int populationSize, boolean pool,
+			boolean report) {
+		JMetalRandom random = new JMetalRandom(new JavaRandomGenerator(7));
+		boolean binary = problem instanceof Knapsack01;
+		SMSEMOA algorithm = new SMSEMOA(problem, evaluations, populationSize, 100.0,
+				binary ? new SinglePointCrossover(1.0, random) : new OrderCrossover(1.0, random),
+				binary ? new BitFlipMutation(1.0 / problem.getNumberOfVariables(), random)
+						: new InversionMutation(0.05, random),
+				new RandomSelection(random), new DominanceComparator(), new WFGHypervolume());
+		algorithm.setReplacementStrategy(new IncrementalHypervolumeReplacement(new WFGHypervolume()));
+		algorithm.setRandom(random);
+		SolutionPool solutionPool = pool ? new SolutionPool() : null;
+		algorithm.setSolutionPool(solutionPool);
+
+		System.gc();
+		long thread = Thread.currentThread().threadId();
+		long bytes = THREADS.getThreadAllocatedBytes(thread);
+		long collections = collectionCount();
+		long collectionTime = collectionTime();
+		long start = System.nanoTime();
+		algorithm.run();
+		long time = System.nanoTime() - start;
+		collectionTime = collectionTime() - collectionTime;
+		collections = collectionCount() - collections;
+		bytes = THREADS.getThreadAllocatedBytes(thread) - bytes;
+
+		if (report) {
+			System.out.printf("  %-12s %-9s %8d ms %10.1f bytes/evaluation %6d collections %6d ms in GC%s%n",
+					problem.getName(), pool ? "pool" : "no pool", time / 1000000, (double) bytes / evaluations,
+					collections, collectionTime,
+					pool ? " (" + solutionPool.getNumberOfTakenSolutions() + " offspring recycled)" : "");
+		}
+
+		List<double[]> objectives = new ArrayList<>();
+		for (Object solution : algorithm.getResult()) {
+			objectives.add(((Solution<?>) solution).objectives().clone());
+		}
+		return objectives;
+	}
+
+	private static long collectionCount() {
+		long count = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, collector.getCollectionCount());
+		}
+		return count;
+	}
+
+	private static long collectionTime() {
+		long time = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			time += Math.max(0, collector.getCollectionTime());
+		}
+		return time;
+	}
+}
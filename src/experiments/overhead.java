@@ -111,9 +111,8 @@ public class overhead {
 			System.out.println("Loading problems instances ");
 		long t0 = System.currentTimeMillis();
 		
-		List<Problem> problems = List.of(new
-		  MOQAP(500).load("D:/SEMOPLS/Data/QAP-500.txt")//, new 
-		);
+		List<Problem> problems = InstanceFiles.<Problem>loadAll(
+			() -> new MOQAP(500).load(InstanceFiles.resolve("D:/SEMOPLS/Data/QAP-500.txt")));
 		if (debug)
 			System.out.println("  Done (" + (System.currentTimeMillis() - t0) + "ms)");
 		return problems;
@@ -142,6 +141,7 @@ public class overhead {
 		long t0, duration;
 		
 		SMSEMOA alg = createSMSEMOA(problem);
+		alg.trackArchiveHypervolume(ref.get(problem.getName()));
 		
 		ArrayList<Double> hv = new ArrayList<Double>();
 		
@@ -153,7 +153,7 @@ public class overhead {
 					|| (a.getEvaluations() >= 100000 && a.getEvaluations() < 1000000 && a.getEvaluations() % 100000 == 0) 
 					|| (a.getEvaluations() >= 1000000 &&  a.getEvaluations() % 1000000 == 0)){
 				if (a.getName().contentEquals("SMSEMOA")) {
-					hv.add(calculateHypervolumeMin(a.getArchive(), ref.get(problem.getName())));
+					hv.add(a.getArchiveHypervolume());
 				}
 				if (a.getEvaluations()==100000 || a.getEvaluations()==1000000) {
 					saveMiddleResult(a, run, a.getEvaluations());
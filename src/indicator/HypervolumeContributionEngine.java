@@ -0,0 +1,348 @@
+package indicator;
+
+import core.Check;
+
+/**
+ * Exact exclusive hypervolume contributions of every point of a front, without recomputing the
+ * hypervolume of the front once per removed point.
+ *
+ * The exclusive contribution of a point p is the volume of its box minus the hypervolume of the
+ * other points limited to that box (each point q replaced by the component-wise worse of q and p).
+ * <ul>
+ * <li>2 objectives: see {@link #contributionsBiObjective(double[][], int, double[])}.</li>
+ * <li>3 objectives: for each point, the other points limited to its box are swept by decreasing
+ * third objective (in an order sorted once for all the points) while the area they dominate in the
+ * first two objectives is kept in a 2D staircase, held in two sorted arrays. A point costs O(N)
+ * insertions, each a binary search plus the shift of the staircase, so the front costs O(N²) binary
+ * searches and at worst O(N³) element moves (by {@link System#arraycopy}).</li>
+ * <li>4 or more objectives: the limited set is reduced to its non-dominated points and measured
+ * with a shared {@link WFGHypervolumeEngine}, so the workspace is reused across points and a point
+ * weakly dominated by another one is skipped.</li>
+ * </ul>
+ *
+ * As in {@link WFGHypervolumeEngine}, points are maximized and the reference point is the origin.
+ * Working buffers are kept between calls and only grow, so a call with a caller-supplied output
+ * array does not allocate. An instance is not thread-safe.
+ */
+public class HypervolumeContributionEngine {
+	private final WFGHypervolumeEngine hypervolumeEngine;
+
+	/** Points of the 2D staircase by increasing first (hence decreasing second) objective */
+	private double[] stairX = new double[0];
+	private double[] stairY = new double[0];
+	private int stairSize;
+	private double[][] limitedFront = new double[0][];
+	private double[] candidate;
+	private int[] order = new int[0];
+
+	/** Constructor */
+	public HypervolumeContributionEngine() {
+		this(new WFGHypervolumeEngine());
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param hypervolumeEngine Engine used for 4 or more objectives
+	 */
+	public HypervolumeContributionEngine(WFGHypervolumeEngine hypervolumeEngine) {
+		this.hypervolumeEngine = hypervolumeEngine;
+	}
+
+	/**
+	 * Computes how much hypervolume each point dominates exclusively
+	 *
+	 * @param front Transformed objective values (maximized, reference point at the origin)
+	 * @return The contribution of each point, in the order of the front
+	 */
+	public double[] contributions(double[][] front) {
+		Check.notNull(front);
+		double[] contributions = new double[front.length];
+		contributions(front, front.length, contributions);
+		return contributions;
+	}
+
+	/**
+	 * Computes how much hypervolume each of the first points of a front dominates exclusively
+	 *
+	 * @param front          Transformed objective values (maximized, reference point at the origin)
+	 * @param numberOfPoints Number of rows of the front to consider
+	 * @param contributions  Array receiving the contribution of each point, in the order of the front
+	 */
+	public void contributions(double[][] front, int numberOfPoints, double[] contributions) {
+		Check.notNull(front);
+		Check.that(numberOfPoints > 0, "Front must contain at least one point");
+		Check.that(contributions.length >= numberOfPoints, "Contribution array is too small");
+		int numberOfObjectives = front[0].length;
+		Check.that(numberOfObjectives >= 2, "Front must have at least two objectives");
+
+		if (numberOfObjectives == 2) {
+			contributionsBiObjective(front, numberOfPoints, contributions);
+		} else if (numberOfObjectives == 3) {
+			contributions3D(front, numberOfPoints, contributions);
+		} else {
+			contributionsWFG(front, numberOfPoints, numberOfObjectives, contributions);
+		}
+	}
+
+	/**
+	 * Bi-objective contributions in O(m log m), without boxing nor allocation once the index buffer
+	 * has grown to the size of the front. The points are sorted by descending second objective, then
+	 * descending first objective; the first point gets its whole box and every other point the strip
+	 * between its first objective and the one of its predecessor, times its second objective (the
+	 * values historically used by {@link WFGHypervolume} for two objectives).
+	 *
+	 * @param front          Transformed objective values (maximized, reference point at the origin)
+	 * @param numberOfPoints Number of rows of the front to consider
+	 * @param contributions  Array receiving the contribution of each point, in the order of the front
+	 */
+	public void contributionsBiObjective(double[][] front, int numberOfPoints, double[] contributions) {
+		sortDescending(front, numberOfPoints, 1, 0);
+
+		int previous = order[0];
+		contributions[previous] = front[previous][0] * front[previous][1];
+		for (int rank = 1; rank < numberOfPoints; rank++) {
+			int index = order[rank];
+			contributions[index] = front[index][1] * (front[index][0] - front[previous][0]);
+			previous = index;
+		}
+	}
+
+	private void contributions3D(double[][] front, int m, double[] contributions) {
+		sortDescending(front, m, 2, -1);
+		if (stairX.length < m) {
+			stairX = new double[m];
+			stairY = new double[m];
+		}
+
+		for (int p = 0; p < m; p++) {
+			double px = front[p][0];
+			double py = front[p][1];
+			double pz = front[p][2];
+			double box = px * py;
+
+			// sweep the slabs between consecutive values of the third objective, from the top of the box
+			// to the reference point, accumulating the part of the box not covered by the other points
+			stairSize = 0;
+			double covered = 0.0;
+			double level = pz;
+			double volume = 0.0;
+			for (int k = 0; k < m && covered < box; k++) {
+				int q = order[k];
+				if (q == p) {
+					continue;
+				}
+				double z = Math.min(front[q][2], pz);
+				volume += (box - covered) * (level - z);
+				level = z;
+				covered += insert(Math.min(front[q][0], px), Math.min(front[q][1], py));
+			}
+			if (covered < box) {
+				volume += (box - covered) * level;
+			}
+			contributions[p] = volume;
+		}
+	}
+
+	/**
+	 * Adds a point to the 2D staircase (sorted by increasing first objective, hence decreasing second
+	 * objective), removing the points it dominates
+	 *
+	 * @return The area added to the dominated region
+	 */
+	private double insert(double x, double y) {
+		// first point with a first objective not lower than x
+		int low = 0;
+		int high = stairSize;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (stairX[middle] < x) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		int ceiling = low;
+		if (ceiling < stairSize && stairY[ceiling] >= y) {
+			return 0.0;
+		}
+
+		// height of the dominated region between each removed point and the next one
+		double height = ceiling < stairSize ? stairY[ceiling] : 0.0;
+		double right = x;
+		double area = 0.0;
+		int end = ceiling < stairSize && stairX[ceiling] == x ? ceiling + 1 : ceiling;
+
+		int start = ceiling;
+		while (start > 0 && stairY[start - 1] <= y) {
+			start--;
+			area += (right - stairX[start]) * (y - height);
+			height = stairY[start];
+			right = stairX[start];
+		}
+		double left = start > 0 ? stairX[start - 1] : 0.0;
+		area += (right - left) * (y - height);
+
+		// replace the points [start, end) by the new one
+		int tail = stairSize - end;
+		System.arraycopy(stairX, end, stairX, start + 1, tail);
+		System.arraycopy(stairY, end, stairY, start + 1, tail);
+		stairX[start] = x;
+		stairY[start] = y;
+		stairSize = start + 1 + tail;
+		return area;
+	}
+
+	private void contributionsWFG(double[][] front, int m, int numberOfObjectives, double[] contributions) {
+		if (limitedFront.length < m || limitedFront[0].length != numberOfObjectives) {
+			limitedFront = new double[m][numberOfObjectives];
+			candidate = new double[numberOfObjectives];
+		}
+
+		for (int p = 0; p < m; p++) {
+			double[] point = front[p];
+
+			int size = 0;
+			boolean dominated = false;
+			for (int q = 0; q < m && !dominated; q++) {
+				if (q == p) {
+					continue;
+				}
+				boolean equal = true;
+				for (int j = 0; j < numberOfObjectives; j++) {
+					candidate[j] = Math.min(front[q][j], point[j]);
+					equal &= candidate[j] == point[j];
+				}
+				dominated = equal;
+				size = addNonDominated(size, numberOfObjectives);
+			}
+
+			if (dominated) {
+				contributions[p] = 0.0;
+			} else {
+				double volume = 1.0;
+				for (int j = 0; j < numberOfObjectives; j++) {
+					volume *= point[j];
+				}
+				contributions[p] = size == 0 ? volume
+						: volume - hypervolumeEngine.calculateHypervolume(limitedFront, size, numberOfObjectives);
+			}
+		}
+	}
+
+	/**
+	 * Adds the candidate to the first size points of the limited front if none of them weakly
+	 * dominates it, removing the points it dominates
+	 *
+	 * @return The new size of the limited front
+	 */
+	private int addNonDominated(int size, int numberOfObjectives) {
+		int i = 0;
+		while (i < size) {
+			double[] other = limitedFront[i];
+			boolean otherBetter = false;
+			boolean candidateBetter = false;
+			for (int j = 0; j < numberOfObjectives; j++) {
+				if (other[j] > candidate[j]) {
+					otherBetter = true;
+				} else if (candidate[j] > other[j]) {
+					candidateBetter = true;
+				}
+			}
+			if (!candidateBetter) {
+				return size;
+			}
+			if (!otherBetter) {
+				// swap the dominated point out of the kept range, keeping its array for reuse
+				size--;
+				limitedFront[i] = limitedFront[size];
+				limitedFront[size] = other;
+			} else {
+				i++;
+			}
+		}
+		System.arraycopy(candidate, 0, limitedFront[size], 0, numberOfObjectives);
+		return size + 1;
+	}
+
+	/**
+	 * Sorts the indices of the first points of the front into the order buffer, by descending value
+	 * of the first key, then of the second key (if not negative), then by ascending index, which is
+	 * the order a stable sort with the two keys produces
+	 */
+	private void sortDescending(double[][] front, int numberOfPoints, int firstKey, int secondKey) {
+		if (order.length < numberOfPoints) {
+			order = new int[Math.max(numberOfPoints, 2 * order.length)];
+		}
+		for (int i = 0; i < numberOfPoints; i++) {
+			order[i] = i;
+		}
+		quickSort(front, 0, numberOfPoints - 1, firstKey, secondKey);
+	}
+
+	private void quickSort(double[][] front, int low, int high, int firstKey, int secondKey) {
+		while (high - low > 16) {
+			int middle = (low + high) >>> 1;
+			if (before(front, order[middle], order[low], firstKey, secondKey))
+				swap(low, middle);
+			if (before(front, order[high], order[low], firstKey, secondKey))
+				swap(low, high);
+			if (before(front, order[high], order[middle], firstKey, secondKey))
+				swap(middle, high);
+			int pivot = order[middle];
+
+			int i = low;
+			int j = high;
+			while (i <= j) {
+				while (before(front, order[i], pivot, firstKey, secondKey))
+					i++;
+				while (before(front, pivot, order[j], firstKey, secondKey))
+					j--;
+				if (i <= j) {
+					swap(i, j);
+					i++;
+					j--;
+				}
+			}
+
+			// recurse on the smaller part to bound the depth of the recursion
+			if (j - low < high - i) {
+				quickSort(front, low, j, firstKey, secondKey);
+				low = i;
+			} else {
+				quickSort(front, i, high, firstKey, secondKey);
+				high = j;
+			}
+		}
+
+		for (int i = low + 1; i <= high; i++) {
+			int index = order[i];
+			int j = i - 1;
+			while (j >= low && before(front, index, order[j], firstKey, secondKey)) {
+				order[j + 1] = order[j];
+				j--;
+			}
+			order[j + 1] = index;
+		}
+	}
+
+	private static boolean before(double[][] front, int i, int j, int firstKey, int secondKey) {
+		if (front[i][firstKey] > front[j][firstKey])
+			return true;
+		if (front[j][firstKey] > front[i][firstKey])
+			return false;
+		if (secondKey >= 0) {
+			if (front[i][secondKey] > front[j][secondKey])
+				return true;
+			if (front[j][secondKey] > front[i][secondKey])
+				return false;
+		}
+		return i < j;
+	}
+
+	private void swap(int i, int j) {
+		int index = order[i];
+		order[i] = order[j];
+		order[j] = index;
+	}
+}
@@ -5,4 +5,6 @@
  * 
  */
 module AAAI26Reuse {
+	requires jdk.management;
+	requires static jdk.incubator.vector;
 }
\ No newline at end of file
@@ -5,23 +5,43 @@ import core.BinarySolution;
 import core.Check;
 import core.JMetalException;
 import core.JMetalRandom;
+import core.PackedBinarySolution;
 import core.RandomGenerator;
 
+import java.util.Arrays;
+
 /**
  * @author Antonio J. Nebro <antonio@lcc.uma.es>
  * @version 1.0
  *     <p>This class implements a bit flip mutation operator.
+ *     <p>By default a random number is drawn for every bit. In geometric-skip mode the gaps between
+ *     the flipped bits are drawn instead, from the geometric distribution of the number of bits
+ *     that are not flipped before the next flipped one: each bit is still flipped with the
+ *     mutation probability, independently of the others, but with about one random number per
+ *     flipped bit (n p + 1 instead of n). The random numbers are not the same in both modes, so
+ *     neither are the mutated solutions for a given seed.
+ *     <p>The positions of the bits flipped by the last mutation (counting the bits of all the
+ *     variables in order) are kept, e.g. for {@link problems.Knapsack01#evaluateFlips} and
+ *     {@link problems.MONKLand#evaluateFlips}.
  */
 @SuppressWarnings("serial")
 public class BitFlipMutation implements MutationOperator<BinarySolution> {
   private double mutationProbability;
   private RandomGenerator<Double> randomGenerator;
+  private boolean geometricSkip = false;
+  private int[] flippedBits = new int[16];
+  private int numberOfFlippedBits = 0;
 
   /** Constructor */
   public BitFlipMutation(double mutationProbability) {
     this(mutationProbability, () -> JMetalRandom.getInstance().nextDouble());
   }
 
+  /** Constructor drawing the random numbers from the given instance */
+  public BitFlipMutation(double mutationProbability, JMetalRandom random) {
+    this(mutationProbability, random::nextDouble);
+  }
+
   /** Constructor */
   public BitFlipMutation(double mutationProbability, RandomGenerator<Double> randomGenerator) {
     if (mutationProbability < 0) {
@@ -42,6 +62,28 @@ public class BitFlipMutation implements MutationOperator<BinarySolution> {
     this.mutationProbability = mutationProbability;
   }
 
+  /** Draws the gaps between the flipped bits instead of a random number per bit */
+  public void setGeometricSkip(boolean geometricSkip) {
+    this.geometricSkip = geometricSkip;
+  }
+
+  public boolean isGeometricSkip() {
+    return geometricSkip;
+  }
+
+  /**
+   * The positions of the bits flipped by the last mutation, in increasing order, in the first
+   * {@link #getNumberOfFlippedBits()} elements of the array (not a copy, overwritten by the next
+   * mutation)
+   */
+  public int[] getFlippedBits() {
+    return flippedBits;
+  }
+
+  public int getNumberOfFlippedBits() {
+    return numberOfFlippedBits;
+  }
+
   /** Execute() method */
   @Override
   public BinarySolution execute(BinarySolution solution) {
@@ -58,12 +100,73 @@ public class BitFlipMutation implements MutationOperator<BinarySolution> {
    * @param solution The solution to mutate
    */
   public void doMutation(double probability, BinarySolution solution) {
+    numberOfFlippedBits = 0;
+    if (geometricSkip) {
+      doGeometricMutation(probability, solution);
+      return;
+    }
+    if (solution instanceof PackedBinarySolution) {
+      PackedBinarySolution packed = (PackedBinarySolution) solution;
+      for (int i = 0; i < packed.getTotalNumberOfBits(); i++) {
+        if (randomGenerator.getRandomValue() <= probability) {
+          packed.flip(i);
+          addFlippedBit(i);
+        }
+      }
+      return;
+    }
+    int position = 0;
     for (int i = 0; i < solution.variables().size(); i++) {
       for (int j = 0; j < solution.variables().get(i).getBinarySetLength(); j++) {
         if (randomGenerator.getRandomValue() <= probability) {
           solution.variables().get(i).flip(j);
+          addFlippedBit(position + j);
+        }
+      }
+      position += solution.variables().get(i).getBinarySetLength();
+    }
+  }
+
+  /**
+   * Jumps from one flipped bit to the next: the number of bits skipped is floor(log(u) / log(1 - p))
+   * for u uniform in (0, 1], so it is k with probability (1 - p)^k p
+   */
+  private void doGeometricMutation(double probability, BinarySolution solution) {
+    if (probability <= 0) {
+      return;
+    }
+    double logOfNoFlip = Math.log1p(-Math.min(probability, 1.0));
+    int totalNumberOfBits = solution.getTotalNumberOfBits();
+    PackedBinarySolution packed =
+        solution instanceof PackedBinarySolution ? (PackedBinarySolution) solution : null;
+
+    int variable = 0;
+    int firstBitOfVariable = 0;
+    int position = -1;
+    while (true) {
+      double gap = Math.log(1.0 - randomGenerator.getRandomValue()) / logOfNoFlip;
+      if (gap >= totalNumberOfBits - 1 - position) {
+        break;
+      }
+      position += 1 + (int) gap;
+
+      if (packed != null) {
+        packed.flip(position);
+      } else {
+        while (position - firstBitOfVariable >= solution.variables().get(variable).getBinarySetLength()) {
+          firstBitOfVariable += solution.variables().get(variable).getBinarySetLength();
+          variable++;
         }
+        solution.variables().get(variable).flip(position - firstBitOfVariable);
       }
+      addFlippedBit(position);
+    }
+  }
+
+  private void addFlippedBit(int position) {
+    if (numberOfFlippedBits == flippedBits.length) {
+      flippedBits = Arrays.copyOf(flippedBits, 2 * flippedBits.length);
     }
+    flippedBits[numberOfFlippedBits++] = position;
   }
 }
@@ -1,11 +1,13 @@
 package operators;
 
 import core.CrossoverOperator;
+import core.IntArrayPermutationSolution;
 import core.PermutationSolution;
 import core.JMetalException;
 import core.BoundedRandomGenerator;
 import core.JMetalRandom;
 import core.RandomGenerator;
+import core.SolutionPool;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -31,6 +33,13 @@ public class CycleCrossover implements CrossoverOperator<PermutationSolution<Int
 				(a, b) -> JMetalRandom.getInstance().nextInt(a, b));
 	}
 
+	/**
+	 * Constructor drawing the random numbers from the given instance
+	 */
+	public CycleCrossover(double crossoverProbability, JMetalRandom random) {
+		this(crossoverProbability, random::nextDouble, random::nextInt);
+	}
+
 	/**
 	 * Constructor
 	 */
@@ -77,6 +86,32 @@ public class CycleCrossover implements CrossoverOperator<PermutationSolution<Int
 		return doCrossover(crossoverProbability, parents);
 	}
 
+	@Override
+	public List<PermutationSolution<Integer>> execute(List<PermutationSolution<Integer>> parents,
+			int numberOfChildren) {
+		if (null == parents) {
+			throw new JMetalException("Null parameter");
+		} else if (parents.size() != 2) {
+			throw new JMetalException("There must be two parents instead of " + parents.size());
+		}
+		checkNumberOfChildren(numberOfChildren);
+
+		return doCrossover(crossoverProbability, parents, numberOfChildren);
+	}
+
+	@Override
+	public List<PermutationSolution<Integer>> execute(List<PermutationSolution<Integer>> parents,
+			List<PermutationSolution<Integer>> targets) {
+		if (null == parents) {
+			throw new JMetalException("Null parameter");
+		} else if (parents.size() != 2) {
+			throw new JMetalException("There must be two parents instead of " + parents.size());
+		}
+		checkNumberOfChildren(targets.size());
+
+		return doCrossover(crossoverProbability, parents, targets.size(), targets);
+	}
+
 	/**
 	 * Perform the crossover operation
 	 *
@@ -86,68 +121,150 @@ public class CycleCrossover implements CrossoverOperator<PermutationSolution<Int
 	 */
 	public List<PermutationSolution<Integer>> doCrossover(double probability,
 			List<PermutationSolution<Integer>> parents) {
+		return doCrossover(probability, parents, 2);
+	}
 
-		List<PermutationSolution<Integer>> offspring = new ArrayList<>(2);
-
-		offspring.add((PermutationSolution<Integer>) parents.get(0).copy());
-		offspring.add((PermutationSolution<Integer>) parents.get(1).copy());
+	/**
+	 * Perform the crossover operation building only the first numberOfChildren offspring (1 or 2),
+	 * with the same random numbers as when building both
+	 */
+	public List<PermutationSolution<Integer>> doCrossover(double probability,
+			List<PermutationSolution<Integer>> parents, int numberOfChildren) {
+		return doCrossover(probability, parents, numberOfChildren, null);
+	}
 
-		int n = parents.get(0).variables().size();
+	/**
+	 * Builds the first numberOfChildren offspring, written into the targets if they are not null
+	 * (see {@link CrossoverOperator#execute(List, List)})
+	 */
+	private List<PermutationSolution<Integer>> doCrossover(double probability,
+			List<PermutationSolution<Integer>> parents, int numberOfChildren,
+			List<PermutationSolution<Integer>> targets) {
+		boolean secondChild = numberOfChildren > 1;
+		List<PermutationSolution<Integer>> offspring = new ArrayList<>(numberOfChildren);
+		for (int i = 0; i < numberOfChildren; i++) {
+			offspring.add(SolutionPool.copy(parents.get(i), targets, i));
+		}
 
 		if (crossoverRandomGenerator.getRandomValue() < probability) {
-			// Initialize a boolean array to mark the visited elements
-			boolean[] visited = new boolean[n];
-			Arrays.fill(visited, false);
-
-			// Initialize a variable to store the current cycle index
-			int cycle = 0;
-			// Loop through the elements of the permutations
-			for (int i = 0; i < n; i++) {
-				// If the current element is not visited, start a new cycle
-				if (!visited[i]) {
-					// Get the current element from the first parent
-					int current = i;
-					long t0 = System.currentTimeMillis();
-					// Loop until the cycle is closed
-					while (true) {
-						// Mark the current element as visited
-						visited[current] = true;
-
-						// Copy the current element to the offspring according to the cycle index
-						if (cycle % 2 == 0) {
-							// Even cycle: copy from the first parent to the first offspring
-							// and from the second parent to the second offspring
-							offspring.get(0).variables().set(current, parents.get(0).variables().get(current));
-							offspring.get(1).variables().set(current, parents.get(1).variables().get(current));
-						} else {
-							// Odd cycle: copy from the second parent to the first offspring
-							// and from the first parent to the second offspring
-							offspring.get(0).variables().set(current, parents.get(1).variables().get(current));
-							offspring.get(1).variables().set(current, parents.get(0).variables().get(current));
-						}
+			if (parents.get(0) instanceof IntArrayPermutationSolution
+					&& parents.get(1) instanceof IntArrayPermutationSolution) {
+				doCrossover(((IntArrayPermutationSolution) parents.get(0)).getPermutation(),
+						((IntArrayPermutationSolution) parents.get(1)).getPermutation(),
+						((IntArrayPermutationSolution) offspring.get(0)).getPermutation(),
+						secondChild ? ((IntArrayPermutationSolution) offspring.get(1)).getPermutation() : null);
+			} else {
+				doCrossover(parents.get(0).variables(), parents.get(1).variables(), offspring.get(0).variables(),
+						secondChild ? offspring.get(1).variables() : null);
+			}
+		}
 
-						// Get the next element from the second parent
-						int next = parents.get(0).variables().indexOf(parents.get(1).variables().get(current));
+		return offspring;
+	}
 
-						// If the next element is the same as the first element of the cycle, break the
-						// loop
-						if (next == i) {
-							break;
+	/**
+	 * The offspring start as copies of the parents and exchange their values on every other cycle
+	 * (the first cycle is kept). The position of each value in the first parent is indexed once, so
+	 * that the cycles are followed in O(n) in total.
+	 *
+	 * @param child1 Second child, null to build only the first one
+	 */
+	private static void doCrossover(int[] parent0, int[] parent1, int[] child0, int[] child1) {
+		int n = parent0.length;
+		Scratch scratch = SCRATCH.get().ensure(n);
+		int[] position = scratch.position;
+		boolean[] visited = scratch.visited;
+		for (int i = 0; i < n; i++) {
+			position[checkValue(parent0[i], n)] = i;
+		}
+
+		int cycle = 0;
+		int steps = 0;
+		for (int i = 0; i < n; i++) {
+			if (!visited[i]) {
+				int current = i;
+				do {
+					visited[current] = true;
+					if ((cycle & 1) != 0) {
+						child0[current] = parent1[current];
+						if (child1 != null) {
+							child1[current] = parent0[current];
 						}
-						// if (System.currentTimeMillis() - t0 > 1000) System.out.println("Dead lock warning, i: "+i+", x[i]:"+parents.get(0).variables().get(i)+", next: "+next);
-						// Otherwise, update the current element
-						current = next;
 					}
+					current = position[checkValue(parent1[current], n)];
+					checkSteps(++steps, n);
+				} while (current != i);
+				cycle++;
+			}
+		}
+	}
+
+	/** Same as {@link #doCrossover(int[], int[], int[], int[])} on the lists of variables */
+	private static void doCrossover(List<Integer> parent0, List<Integer> parent1, List<Integer> child0,
+			List<Integer> child1) {
+		int n = parent0.size();
+		Scratch scratch = SCRATCH.get().ensure(n);
+		int[] position = scratch.position;
+		boolean[] visited = scratch.visited;
+		for (int i = 0; i < n; i++) {
+			position[checkValue(parent0.get(i), n)] = i;
+		}
 
-					// Increment the cycle index
-					cycle++;
-				}
+		int cycle = 0;
+		int steps = 0;
+		for (int i = 0; i < n; i++) {
+			if (!visited[i]) {
+				int current = i;
+				do {
+					visited[current] = true;
+					Integer value1 = parent1.get(current);
+					if ((cycle & 1) != 0) {
+						child0.set(current, value1);
+						if (child1 != null) {
+							child1.set(current, parent0.get(current));
+						}
+					}
+					current = position[checkValue(value1, n)];
+					checkSteps(++steps, n);
+				} while (current != i);
+				cycle++;
 			}
 		}
+	}
 
-		return offspring;
+	private static int checkValue(int value, int n) {
+		if (value < 0 || value >= n) {
+			throw new JMetalException("The parents are not permutations of 0.." + (n - 1) + ": " + value);
+		}
+		return value;
 	}
 
+	/** With two permutations of the same values the cycles visit each position once */
+	private static void checkSteps(int steps, int n) {
+		if (steps > n) {
+			throw new JMetalException("The parents are not permutations of the same values");
+		}
+	}
+
+	/** Work arrays of a thread, reused from one crossover to the next */
+	private static final class Scratch {
+		int[] position = new int[0];
+		boolean[] visited = new boolean[0];
+
+		/** Makes room for n positions, none of them visited */
+		Scratch ensure(int n) {
+			if (position.length < n) {
+				position = new int[n];
+				visited = new boolean[n];
+			} else {
+				Arrays.fill(visited, 0, n, false);
+			}
+			return this;
+		}
+	}
+
+	private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
 	@Override
 	public int getNumberOfRequiredParents() {
 		return 2;
@@ -0,0 +1,53 @@
+package operators;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import core.Ranking;
+import core.ReplacementStrategy;
+import core.Solution;
+import indicator.Hypervolume;
+
+/**
+ * SMS-EMOA replacement computed from scratch: the joint population is ranked with
+ * {@link MergeNonDominatedSortRanking} and the solution of the last front with the lowest
+ * hypervolume contribution is discarded.
+ */
+@SuppressWarnings("serial")
+public class HypervolumeContributionReplacement<S extends Solution<?>> implements ReplacementStrategy<S> {
+	private Hypervolume<S> hypervolume;
+
+	/**
+	 * Constructor
+	 */
+	public HypervolumeContributionReplacement(Hypervolume<S> hypervolume) {
+		this.hypervolume = hypervolume;
+	}
+
+	@Override
+	public List<S> replace(List<S> population, List<S> offspringPopulation) {
+		List<S> jointPopulation = new ArrayList<>();
+		jointPopulation.addAll(population);
+		jointPopulation.addAll(offspringPopulation);
+
+		Ranking<S> ranking = new MergeNonDominatedSortRanking<>();
+		ranking.compute(jointPopulation);
+
+		List<S> lastSubfront = ranking.getSubFront(ranking.getNumberOfSubFronts() - 1);
+
+		lastSubfront = hypervolume.computeHypervolumeContribution(lastSubfront, jointPopulation);
+
+		List<S> resultPopulation = new ArrayList<>();
+		for (int i = 0; i < ranking.getNumberOfSubFronts() - 1; i++) {
+			for (S solution : ranking.getSubFront(i)) {
+				resultPopulation.add(solution);
+			}
+		}
+
+		for (int i = 0; i < lastSubfront.size() - 1; i++) {
+			resultPopulation.add(lastSubfront.get(i));
+		}
+
+		return resultPopulation;
+	}
+}
@@ -0,0 +1,333 @@
+package operators;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import core.ReplacementStrategy;
+import core.Solution;
+import indicator.Hypervolume;
+
+/**
+ * Incremental SMS-EMOA replacement for bi-objective problems.
+ *
+ * The non-dominated fronts of the population are kept between calls as balanced trees sorted by
+ * the first objective, together with the exclusive hypervolume contribution of every interior
+ * point of each front. Inserting an offspring locates its front by binary search over the fronts,
+ * moves the points it dominates one front down, and the loser is taken from the last front, so a
+ * steady-state step costs O(log N) tree operations plus the (usually few) points that change front,
+ * instead of a full non-dominated sort and hypervolume contribution computation.
+ *
+ * As in {@link indicator.WFGHypervolume#computeHypervolumeContribution(List, List)}, the reference
+ * point is the maximum of each objective over the population plus the offspring, shifted by the
+ * offset of the hypervolume implementation. The contribution of a point is the area it dominates
+ * exclusively.
+ *
+ * Problems with a number of objectives other than two are handled by
+ * {@link HypervolumeContributionReplacement}.
+ */
+@SuppressWarnings("serial")
+public class IncrementalHypervolumeReplacement<S extends Solution<?>> implements ReplacementStrategy<S> {
+	private static final Comparator<Node<?>> POSITION = (a, b) -> {
+		if (a.f1 < b.f1)
+			return -1;
+		if (a.f1 > b.f1)
+			return 1;
+		if (a.f2 > b.f2)
+			return -1;
+		if (a.f2 < b.f2)
+			return 1;
+		return Long.compare(a.id, b.id);
+	};
+
+	private static final Comparator<Node<?>> CONTRIBUTION = (a, b) -> {
+		if (a.contribution < b.contribution)
+			return -1;
+		if (a.contribution > b.contribution)
+			return 1;
+		return Long.compare(a.id, b.id);
+	};
+
+	private final double offset;
+	private final ReplacementStrategy<S> generalReplacement;
+
+	private List<S> population = null;
+	private final List<Node<S>> nodes = new ArrayList<>();
+	private final List<Front<S>> fronts = new ArrayList<>();
+	private final TreeMap<Double, Integer> firstObjectiveValues = new TreeMap<>();
+	private final TreeMap<Double, Integer> secondObjectiveValues = new TreeMap<>();
+
+	private final Node<S> probe = new Node<>(null, 0.0, 0.0, Long.MAX_VALUE);
+	private List<Node<S>> moving = new ArrayList<>();
+	private List<Node<S>> displaced = new ArrayList<>();
+	private long nextId = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param hypervolume Hypervolume implementation providing the offset of the reference point, and
+	 *                    used as is when the problem does not have two objectives
+	 */
+	public IncrementalHypervolumeReplacement(Hypervolume<S> hypervolume) {
+		this.offset = hypervolume.getOffset();
+		this.generalReplacement = new HypervolumeContributionReplacement<>(hypervolume);
+	}
+
+	@Override
+	public List<S> replace(List<S> population, List<S> offspringPopulation) {
+		return replace(population, offspringPopulation, solution -> {
+		});
+	}
+
+	/** The loser of each insertion is known, so the discarded solutions cost nothing to report */
+	@Override
+	public List<S> replace(List<S> population, List<S> offspringPopulation, Consumer<? super S> discarded) {
+		if (population.get(0).objectives().length != 2) {
+			return generalReplacement.replace(population, offspringPopulation, discarded);
+		}
+
+		// the fronts are only valid for the list returned by the previous call
+		if (population != this.population) {
+			rebuild(population);
+		}
+
+		for (S offspring : offspringPopulation) {
+			insert(offspring);
+			discarded.accept(removeWorst());
+		}
+
+		return this.population;
+	}
+
+	/**
+	 * Returns the number of non-dominated fronts of the current population
+	 */
+	public int getNumberOfFronts() {
+		return fronts.size();
+	}
+
+	private void rebuild(List<S> population) {
+		this.population = new ArrayList<>(population.size() + 1);
+		nodes.clear();
+		fronts.clear();
+		firstObjectiveValues.clear();
+		secondObjectiveValues.clear();
+
+		for (S solution : population) {
+			insert(solution);
+		}
+	}
+
+	private void insert(S solution) {
+		Node<S> node = new Node<>(solution, solution.objectives()[0], solution.objectives()[1], nextId++);
+		node.index = population.size();
+		population.add(solution);
+		nodes.add(node);
+		count(firstObjectiveValues, node.f1, 1);
+		count(secondObjectiveValues, node.f2, 1);
+
+		// the points displaced from a front are mutually non-dominated and no point of the next front
+		// dominates them, so they are inserted there as a group, displacing points in turn
+		int rank = findRank(node);
+		moving.clear();
+		moving.add(node);
+		while (!moving.isEmpty()) {
+			if (rank == fronts.size()) {
+				fronts.add(new Front<>());
+			}
+			Front<S> front = fronts.get(rank);
+
+			displaced.clear();
+			for (Node<S> point : moving) {
+				front.insert(point, displaced);
+			}
+
+			List<Node<S>> swap = moving;
+			moving = displaced;
+			displaced = swap;
+			rank++;
+		}
+	}
+
+	private S removeWorst() {
+		double referenceF1 = firstObjectiveValues.lastKey() + offset;
+		double referenceF2 = secondObjectiveValues.lastKey() + offset;
+
+		Front<S> lastFront = fronts.get(fronts.size() - 1);
+		Node<S> worst = lastFront.worst(referenceF1, referenceF2);
+		lastFront.remove(worst);
+		if (lastFront.points.isEmpty()) {
+			fronts.remove(fronts.size() - 1);
+		}
+		count(firstObjectiveValues, worst.f1, -1);
+		count(secondObjectiveValues, worst.f2, -1);
+
+		int lastIndex = population.size() - 1;
+		Node<S> moved = nodes.get(lastIndex);
+		population.set(worst.index, moved.solution);
+		nodes.set(worst.index, moved);
+		moved.index = worst.index;
+		population.remove(lastIndex);
+		nodes.remove(lastIndex);
+		return worst.solution;
+	}
+
+	/**
+	 * Index of the first front not dominating the point. Fronts dominating a point always precede
+	 * the fronts that do not, so a binary search applies.
+	 */
+	private int findRank(Node<S> node) {
+		int low = 0;
+		int high = fronts.size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (fronts.get(middle).dominates(node, probe)) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static void count(TreeMap<Double, Integer> values, double value, int delta) {
+		values.merge(value, delta, (a, b) -> a + b == 0 ? null : a + b);
+	}
+
+	private static final class Node<S> {
+		final S solution;
+		double f1;
+		double f2;
+		final long id;
+		int index;
+		double contribution;
+		boolean interior = false;
+
+		Node(S solution, double f1, double f2, long id) {
+			this.solution = solution;
+			this.f1 = f1;
+			this.f2 = f2;
+			this.id = id;
+		}
+	}
+
+	/**
+	 * A non-dominated front sorted by increasing first objective (hence decreasing second objective).
+	 * The exclusive contributions of the interior points do not depend on the reference point, and
+	 * are kept sorted; those of the two extreme points are computed when needed.
+	 */
+	private static final class Front<S> {
+		final TreeSet<Node<S>> points = new TreeSet<>(POSITION);
+		final TreeSet<Node<S>> interior = new TreeSet<>(CONTRIBUTION);
+
+		boolean dominates(Node<S> node, Node<S> probe) {
+			// last point with a first objective not greater than the one of the node, which is the point
+			// with the lowest second objective among them
+			probe.f1 = node.f1;
+			probe.f2 = Double.NEGATIVE_INFINITY;
+			Node<S> candidate = points.floor(probe);
+
+			return candidate != null && candidate.f2 <= node.f2 && (candidate.f1 < node.f1 || candidate.f2 < node.f2);
+		}
+
+		/**
+		 * Inserts a point not dominated by the front, moving the points it dominates to the displaced
+		 * list
+		 */
+		void insert(Node<S> node, List<Node<S>> displaced) {
+			// a point with the same first objective and a worse second one precedes the node
+			Node<S> previous = points.lower(node);
+			while (previous != null && previous.f1 == node.f1 && previous.f2 > node.f2) {
+				Node<S> next = points.lower(previous);
+				remove(previous);
+				displaced.add(previous);
+				previous = next;
+			}
+
+			// duplicates of the node are kept, the following points not better in the second objective
+			// are dominated
+			Node<S> next = points.higher(node);
+			while (next != null && next.f1 == node.f1 && next.f2 == node.f2) {
+				next = points.higher(next);
+			}
+			while (next != null && next.f2 >= node.f2) {
+				Node<S> following = points.higher(next);
+				remove(next);
+				displaced.add(next);
+				next = following;
+			}
+
+			add(node);
+		}
+
+		void add(Node<S> node) {
+			Node<S> previous = points.lower(node);
+			Node<S> next = points.higher(node);
+			detach(previous);
+			detach(next);
+			points.add(node);
+			attach(previous);
+			attach(node);
+			attach(next);
+		}
+
+		void remove(Node<S> node) {
+			Node<S> previous = points.lower(node);
+			Node<S> next = points.higher(node);
+			detach(previous);
+			detach(node);
+			detach(next);
+			points.remove(node);
+			attach(previous);
+			attach(next);
+		}
+
+		/**
+		 * Point with the lowest exclusive contribution for the given reference point
+		 */
+		Node<S> worst(double referenceF1, double referenceF2) {
+			Node<S> first = points.first();
+			Node<S> last = points.last();
+			if (first == last) {
+				return first;
+			}
+
+			Node<S> worst = first;
+			double worstContribution = (points.higher(first).f1 - first.f1) * (referenceF2 - first.f2);
+
+			double contribution = (referenceF1 - last.f1) * (points.lower(last).f2 - last.f2);
+			if (contribution < worstContribution) {
+				worst = last;
+				worstContribution = contribution;
+			}
+
+			if (!interior.isEmpty() && interior.first().contribution < worstContribution) {
+				worst = interior.first();
+			}
+			return worst;
+		}
+
+		private void detach(Node<S> node) {
+			if (node != null && node.interior) {
+				interior.remove(node);
+				node.interior = false;
+			}
+		}
+
+		private void attach(Node<S> node) {
+			if (node == null) {
+				return;
+			}
+			Node<S> previous = points.lower(node);
+			Node<S> next = points.higher(node);
+			if (previous != null && next != null) {
+				node.contribution = (next.f1 - node.f1) * (previous.f2 - node.f2);
+				node.interior = true;
+				interior.add(node);
+			}
+		}
+	}
+}
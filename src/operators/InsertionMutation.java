@@ -5,6 +5,7 @@ import java.util.Collections;
 import java.util.HashSet;
 
 import core.MutationOperator;
+import core.IntArrayPermutationSolution;
 import core.PermutationSolution;
 import core.Check;
 import core.BoundedRandomGenerator;
@@ -69,6 +70,13 @@ public class InsertionMutation<T> implements MutationOperator<PermutationSolutio
 	    			pos1 = pos2;
 	    			pos2 = temp;
 	    		}
+	    		if (solution instanceof IntArrayPermutationSolution) {
+	    			int[] permutation = ((IntArrayPermutationSolution) solution).getPermutation();
+	    			int temp = permutation[pos1];
+	    			System.arraycopy(permutation, pos1 + 1, permutation, pos1, pos2 - pos1);
+	    			permutation[pos2] = temp;
+	    			return;
+	    		}
 	    		T temp = solution.variables().get(pos1);
 	    		for (int i=pos1; i<pos2; i++) {
 	    			solution.variables().set(i, solution.variables().get(i+1));
@@ -12,6 +12,7 @@ import core.IntegerSolution;
 import core.JMetalException;
 import core.JMetalRandom;
 import core.RandomGenerator;
+import core.SolutionPool;
 
 /**
  * This class allows to apply a SBX crossover operator using two parent solutions (Integer encoding)
@@ -77,13 +78,59 @@ public class IntegerSBXCrossover implements CrossoverOperator<IntegerSolution> {
     return doCrossover(crossoverProbability, solutions.get(0), solutions.get(1)) ;
   }
 
+  @Override
+  public List<IntegerSolution> execute(List<IntegerSolution> solutions, int numberOfChildren) {
+    if (null == solutions) {
+      throw new JMetalException("Null parameter") ;
+    } else if (solutions.size() != 2) {
+      throw new JMetalException("There must be two parents instead of " + solutions.size()) ;
+    }
+    checkNumberOfChildren(numberOfChildren) ;
+
+    return doCrossover(crossoverProbability, solutions.get(0), solutions.get(1), numberOfChildren) ;
+  }
+
+  @Override
+  public List<IntegerSolution> execute(List<IntegerSolution> solutions, List<IntegerSolution> targets) {
+    if (null == solutions) {
+      throw new JMetalException("Null parameter") ;
+    } else if (solutions.size() != 2) {
+      throw new JMetalException("There must be two parents instead of " + solutions.size()) ;
+    }
+    checkNumberOfChildren(targets.size()) ;
+
+    return doCrossover(crossoverProbability, solutions.get(0), solutions.get(1), targets.size(), targets) ;
+  }
+
   /** doCrossover method */
   public List<IntegerSolution> doCrossover(
           double probability, IntegerSolution parent1, IntegerSolution parent2) {
-    List<IntegerSolution> offspring = new ArrayList<IntegerSolution>(2);
+    return doCrossover(probability, parent1, parent2, 2) ;
+  }
 
-    offspring.add((IntegerSolution) parent1.copy()) ;
-    offspring.add((IntegerSolution) parent2.copy()) ;
+  /**
+   * doCrossover method building only the first numberOfChildren offspring (1 or 2), with the same
+   * random numbers as when building both
+   */
+  public List<IntegerSolution> doCrossover(
+          double probability, IntegerSolution parent1, IntegerSolution parent2, int numberOfChildren) {
+    return doCrossover(probability, parent1, parent2, numberOfChildren, null) ;
+  }
+
+  /**
+   * Builds the first numberOfChildren offspring, written into the targets if they are not null
+   * (see {@link CrossoverOperator#execute(List, List)})
+   */
+  private List<IntegerSolution> doCrossover(
+          double probability, IntegerSolution parent1, IntegerSolution parent2, int numberOfChildren,
+          List<IntegerSolution> targets) {
+    boolean secondChild = numberOfChildren > 1 ;
+    List<IntegerSolution> offspring = new ArrayList<IntegerSolution>(numberOfChildren);
+
+    offspring.add(SolutionPool.copy(parent1, targets, 0)) ;
+    if (secondChild) {
+      offspring.add(SolutionPool.copy(parent2, targets, 1)) ;
+    }
 
     int i;
     double rand;
@@ -152,18 +199,26 @@ public class IntegerSBXCrossover implements CrossoverOperator<IntegerSolution> {
 
             if (randomGenerator.getRandomValue() <= 0.5) {
               offspring.get(0).variables().set(i, (int)c2);
-              offspring.get(1).variables().set(i, (int)c1);
+              if (secondChild) {
+                offspring.get(1).variables().set(i, (int)c1);
+              }
             } else {
               offspring.get(0).variables().set(i, (int)c1);
-              offspring.get(1).variables().set(i, (int)c2);
+              if (secondChild) {
+                offspring.get(1).variables().set(i, (int)c2);
+              }
             }
           } else {
             offspring.get(0).variables().set(i, valueX1);
-            offspring.get(1).variables().set(i, valueX2);
+            if (secondChild) {
+              offspring.get(1).variables().set(i, valueX2);
+            }
           }
         } else {
           offspring.get(0).variables().set(i, valueX2);
-          offspring.get(1).variables().set(i, valueX1);
+          if (secondChild) {
+            offspring.get(1).variables().set(i, valueX1);
+          }
         }
       }
     }
@@ -1,6 +1,7 @@
 package operators;
 
 import core.MutationOperator;
+import core.IntArrayPermutationSolution;
 import core.PermutationSolution;
 import core.Check;
 import core.BoundedRandomGenerator;
@@ -24,6 +25,11 @@ public class InversionMutation<T> implements MutationOperator<PermutationSolutio
 		        () -> JMetalRandom.getInstance().nextDouble(),
 		        (a, b) -> JMetalRandom.getInstance().nextInt(a, b));
 	}
+
+	/** Constructor drawing the random numbers from the given instance */
+	public InversionMutation(double mutationProbability, JMetalRandom random) {
+		this(mutationProbability, random::nextDouble, random::nextInt);
+	}
 	
 	 /** Constructor */
 	  public InversionMutation(
@@ -70,6 +76,15 @@ public class InversionMutation<T> implements MutationOperator<PermutationSolutio
 	    			pos1 = pos2;
 	    			pos2 = temp;
 	    		}
+	    		if (solution instanceof IntArrayPermutationSolution) {
+	    			int[] permutation = ((IntArrayPermutationSolution) solution).getPermutation();
+	    			while (pos1<pos2) {
+	    				int temp = permutation[pos1];
+	    				permutation[pos1++] = permutation[pos2];
+	    				permutation[pos2--] = temp;
+	    			}
+	    			return;
+	    		}
 	    		while (pos1<pos2) {
 	    			T temp = solution.variables().get(pos1);
 	    			solution.variables().set(pos1, solution.variables().get(pos2));
@@ -1,14 +1,16 @@
 package operators;
 
 import core.CrossoverOperator;
+import core.IntArrayPermutationSolution;
 import core.PermutationSolution;
 import core.JMetalException;
 import core.BoundedRandomGenerator;
 import core.JMetalRandom;
 import core.RandomGenerator;
+import core.SolutionPool;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 
 @SuppressWarnings("serial")
@@ -25,6 +27,13 @@ public class OrderCrossover implements
 	  this(crossoverProbability, () -> JMetalRandom.getInstance().nextDouble(), (a, b) -> JMetalRandom.getInstance().nextInt(a, b));
   }
 
+  /**
+   * Constructor drawing the random numbers from the given instance
+   */
+  public OrderCrossover(double crossoverProbability, JMetalRandom random) {
+	  this(crossoverProbability, random::nextDouble, random::nextInt);
+  }
+
   /**
    * Constructor
    */
@@ -70,6 +79,32 @@ public class OrderCrossover implements
     return doCrossover(crossoverProbability, parents) ;
   }
 
+  @Override
+  public List<PermutationSolution<Integer>> execute(List<PermutationSolution<Integer>> parents,
+      int numberOfChildren) {
+    if (null == parents) {
+      throw new JMetalException("Null parameter") ;
+    } else if (parents.size() != 2) {
+      throw new JMetalException("There must be two parents instead of " + parents.size()) ;
+    }
+    checkNumberOfChildren(numberOfChildren) ;
+
+    return doCrossover(crossoverProbability, parents, numberOfChildren) ;
+  }
+
+  @Override
+  public List<PermutationSolution<Integer>> execute(List<PermutationSolution<Integer>> parents,
+      List<PermutationSolution<Integer>> targets) {
+    if (null == parents) {
+      throw new JMetalException("Null parameter") ;
+    } else if (parents.size() != 2) {
+      throw new JMetalException("There must be two parents instead of " + parents.size()) ;
+    }
+    checkNumberOfChildren(targets.size()) ;
+
+    return doCrossover(crossoverProbability, parents, targets.size(), targets) ;
+  }
+
 	/**
 	 * Perform the crossover operation
 	 *
@@ -79,10 +114,32 @@ public class OrderCrossover implements
 	 */
 	public List<PermutationSolution<Integer>> doCrossover(double probability,
 			List<PermutationSolution<Integer>> parents) {
-		List<PermutationSolution<Integer>> offspring = new ArrayList<>(2);
+		return doCrossover(probability, parents, 2);
+	}
+
+	/**
+	 * Perform the crossover operation building only the first numberOfChildren offspring (1 or 2),
+	 * with the same random numbers as when building both
+	 */
+	public List<PermutationSolution<Integer>> doCrossover(double probability,
+			List<PermutationSolution<Integer>> parents, int numberOfChildren) {
+		return doCrossover(probability, parents, numberOfChildren, null);
+	}
 
-		offspring.add((PermutationSolution<Integer>) parents.get(0).copy());
-		offspring.add((PermutationSolution<Integer>) parents.get(1).copy());
+	/**
+	 * Builds the first numberOfChildren offspring, written into the targets if they are not null
+	 * (see {@link CrossoverOperator#execute(List, List)})
+	 */
+	private List<PermutationSolution<Integer>> doCrossover(double probability,
+			List<PermutationSolution<Integer>> parents, int numberOfChildren,
+			List<PermutationSolution<Integer>> targets) {
+		boolean secondChild = numberOfChildren > 1;
+		List<PermutationSolution<Integer>> offspring = new ArrayList<>(numberOfChildren);
+
+		offspring.add(SolutionPool.copy(parents.get(0), targets, 0));
+		if (secondChild) {
+			offspring.add(SolutionPool.copy(parents.get(1), targets, 1));
+		}
 
 		int permutationLength = parents.get(0).variables().size();
 
@@ -102,58 +159,25 @@ public class OrderCrossover implements
 				cuttingPoint1 = cuttingPoint2;
 				cuttingPoint2 = swap;
 			}
-			Integer[] child0 = new Integer[permutationLength];
-			Integer[] child1 = new Integer[permutationLength];
-			HashSet<Integer> snippet0 = new HashSet<Integer>();
-			HashSet<Integer> snippet1 = new HashSet<Integer>();
-			for (int i = cuttingPoint1; i < cuttingPoint2; i++) {
-				snippet0.add(offspring.get(0).variables().get(i));
-				snippet1.add(offspring.get(1).variables().get(i));
-				child0[i] = offspring.get(0).variables().get(i);
-				child1[i] = offspring.get(1).variables().get(i);
-			}
-
-			// child0 get parent
-			int i = cuttingPoint2;
-			int j = cuttingPoint2;
-			while (i < permutationLength) {
-				if (!snippet0.contains(offspring.get(1).variables().get(j))) {
-					child0[i] = offspring.get(1).variables().get(j);
-					i += 1;
+			Scratch scratch = SCRATCH.get().ensure(permutationLength);
+			if (parents.get(0) instanceof IntArrayPermutationSolution
+					&& parents.get(1) instanceof IntArrayPermutationSolution) {
+				int[] parent0 = ((IntArrayPermutationSolution) parents.get(0)).getPermutation();
+				int[] parent1 = ((IntArrayPermutationSolution) parents.get(1)).getPermutation();
+				doCrossover(parent0, parent1, ((IntArrayPermutationSolution) offspring.get(0)).getPermutation(),
+						scratch, cuttingPoint1, cuttingPoint2);
+				if (secondChild) {
+					doCrossover(parent1, parent0, ((IntArrayPermutationSolution) offspring.get(1)).getPermutation(),
+							scratch, cuttingPoint1, cuttingPoint2);
 				}
-				j = (j + 1) % permutationLength;
+				return offspring;
 			}
-			i = 0;
-			while (i < cuttingPoint1) {
-				if (!snippet0.contains(offspring.get(1).variables().get(j))) {
-					child0[i] = offspring.get(1).variables().get(j);
-					i += 1;
-				}
-				j = (j + 1) % permutationLength;
-			}
-
-			// child1 get parent
-			i = cuttingPoint2;
-			j = cuttingPoint2;
-			while (i < permutationLength) {
-				if (!snippet1.contains(offspring.get(0).variables().get(j))) {
-					child1[i] = offspring.get(0).variables().get(j);
-					i += 1;
-				}
-				j = (j + 1) % permutationLength;
-			}
-			i = 0;
-			while (i < cuttingPoint1) {
-				if (!snippet1.contains(offspring.get(0).variables().get(j))) {
-					child1[i] = offspring.get(0).variables().get(j);
-					i += 1;
-				}
-				j = (j + 1) % permutationLength;
-			}
-
-			for (i = 0; i < permutationLength; i++) {
-				offspring.get(0).variables().set(i, child0[i]);
-				offspring.get(1).variables().set(i, child1[i]);
+			// the offspring are still copies of the parents
+			List<Integer> parent0 = parents.get(0).variables();
+			List<Integer> parent1 = parents.get(1).variables();
+			doCrossover(parent0, parent1, offspring.get(0).variables(), scratch, cuttingPoint1, cuttingPoint2);
+			if (secondChild) {
+				doCrossover(parent1, parent0, offspring.get(1).variables(), scratch, cuttingPoint1, cuttingPoint2);
 			}
 			/*
 			 * int cuttingPoint1; int cuttingPoint2;
@@ -197,6 +221,119 @@ public class OrderCrossover implements
 		return offspring;
 	}
 
+	/**
+	 * The child, a copy of the parent, keeps the snippet [cuttingPoint1, cuttingPoint2) of the parent
+	 * and takes the other values in the order of the other parent, starting after the snippet. The
+	 * values of the snippet are marked with a new epoch in the stamps of the scratch, instead of being
+	 * put in a set, so nothing is allocated.
+	 */
+	private static void doCrossover(int[] parent, int[] other, int[] child, Scratch scratch,
+			int cuttingPoint1, int cuttingPoint2) {
+		int permutationLength = parent.length;
+		int[] stamp = scratch.stamp;
+		int epoch = scratch.nextEpoch();
+		for (int i = cuttingPoint1; i < cuttingPoint2; i++) {
+			stamp[checkValue(parent[i], permutationLength)] = epoch;
+		}
+
+		int i = cuttingPoint2;
+		int j = cuttingPoint2;
+		int steps = 0;
+		while (i < permutationLength) {
+			int value = other[j];
+			if (stamp[checkValue(value, permutationLength)] != epoch) {
+				child[i++] = value;
+			}
+			j = j + 1 == permutationLength ? 0 : j + 1;
+			checkSteps(++steps, permutationLength);
+		}
+		i = 0;
+		while (i < cuttingPoint1) {
+			int value = other[j];
+			if (stamp[checkValue(value, permutationLength)] != epoch) {
+				child[i++] = value;
+			}
+			j = j + 1 == permutationLength ? 0 : j + 1;
+			checkSteps(++steps, permutationLength);
+		}
+	}
+
+	/**
+	 * Same as {@link #doCrossover(int[], int[], int[], Scratch, int, int)} on the lists of variables;
+	 * the values are moved from the other parent to the child without boxing them again
+	 */
+	private static void doCrossover(List<Integer> parent, List<Integer> other, List<Integer> child,
+			Scratch scratch, int cuttingPoint1, int cuttingPoint2) {
+		int permutationLength = parent.size();
+		int[] stamp = scratch.stamp;
+		int epoch = scratch.nextEpoch();
+		for (int i = cuttingPoint1; i < cuttingPoint2; i++) {
+			stamp[checkValue(parent.get(i), permutationLength)] = epoch;
+		}
+
+		int i = cuttingPoint2;
+		int j = cuttingPoint2;
+		int steps = 0;
+		while (i < permutationLength) {
+			Integer value = other.get(j);
+			if (stamp[checkValue(value, permutationLength)] != epoch) {
+				child.set(i++, value);
+			}
+			j = j + 1 == permutationLength ? 0 : j + 1;
+			checkSteps(++steps, permutationLength);
+		}
+		i = 0;
+		while (i < cuttingPoint1) {
+			Integer value = other.get(j);
+			if (stamp[checkValue(value, permutationLength)] != epoch) {
+				child.set(i++, value);
+			}
+			j = j + 1 == permutationLength ? 0 : j + 1;
+			checkSteps(++steps, permutationLength);
+		}
+	}
+
+	private static int checkValue(int value, int n) {
+		if (value < 0 || value >= n) {
+			throw new JMetalException("The parents are not permutations of 0.." + (n - 1) + ": " + value);
+		}
+		return value;
+	}
+
+	/** With two permutations of the same values the other parent is read at most once */
+	private static void checkSteps(int steps, int n) {
+		if (steps > n) {
+			throw new JMetalException("The parents are not permutations of the same values");
+		}
+	}
+
+	/** Work array of a thread, reused from one crossover to the next */
+	private static final class Scratch {
+		/** The values v with stamp[v] == epoch are in the snippet of the current child */
+		int[] stamp = new int[0];
+		int epoch = 0;
+
+		/** Makes room for the values 0..n-1 */
+		Scratch ensure(int n) {
+			if (stamp.length < n) {
+				stamp = new int[n];
+				epoch = 0;
+			}
+			return this;
+		}
+
+		/** Starts a new epoch, in which no value is in the snippet */
+		int nextEpoch() {
+			if (++epoch == 0) {
+				Arrays.fill(stamp, 0);
+				epoch = 1;
+			}
+			return epoch;
+		}
+	}
+
+	private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
   @Override
   public int getNumberOfRequiredParents() {
     return 2 ;
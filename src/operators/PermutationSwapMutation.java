@@ -1,6 +1,7 @@
 package operators;
 
 import core.MutationOperator;
+import core.IntArrayPermutationSolution;
 import core.PermutationSolution;
 import core.Check;
 import core.BoundedRandomGenerator;
@@ -27,6 +28,11 @@ public class PermutationSwapMutation<T> implements MutationOperator<PermutationS
         (a, b) -> JMetalRandom.getInstance().nextInt(a, b));
   }
 
+  /** Constructor drawing the random numbers from the given instance */
+  public PermutationSwapMutation(double mutationProbability, JMetalRandom random) {
+    this(mutationProbability, random::nextDouble, random::nextInt);
+  }
+
   /** Constructor */
   public PermutationSwapMutation(
       double mutationProbability, RandomGenerator<Double> randomGenerator) {
@@ -83,6 +89,14 @@ public class PermutationSwapMutation<T> implements MutationOperator<PermutationS
           else pos2 = positionRandomGenerator.getRandomValue(pos1, permutationLength - 1);
         }
 
+        if (solution instanceof IntArrayPermutationSolution) {
+          int[] permutation = ((IntArrayPermutationSolution) solution).getPermutation();
+          int temp = permutation[pos1];
+          permutation[pos1] = permutation[pos2];
+          permutation[pos2] = temp;
+          return;
+        }
+
         T temp = solution.variables().get(pos1);
         solution.variables().set(pos1, solution.variables().get(pos2));
         solution.variables().set(pos2, temp);
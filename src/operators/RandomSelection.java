@@ -1,8 +1,10 @@
 package operators;
 
+import core.BoundedRandomGenerator;
 import core.SelectionOperator;
 import core.SolutionListUtils;
 import core.Check;
+import core.JMetalRandom;
 
 import java.util.List;
 
@@ -15,6 +17,16 @@ import java.util.List;
  */
 @SuppressWarnings("serial")
 public class RandomSelection<S> implements SelectionOperator<List<S>, S> {
+  private BoundedRandomGenerator<Integer> randomGenerator = null;
+
+  /** Constructor */
+  public RandomSelection() {
+  }
+
+  /** Constructor drawing the random numbers from the given instance */
+  public RandomSelection(JMetalRandom random) {
+    this.randomGenerator = random::nextInt;
+  }
 
   /** Execute() method */
   public S execute(List<S> solutionList) {
@@ -22,7 +34,9 @@ public class RandomSelection<S> implements SelectionOperator<List<S>, S> {
     Check.collectionIsNotEmpty(solutionList);
 
 
-    return SolutionListUtils.selectNRandomDifferentSolutions(
-        1, solutionList).get(0);
+    if (randomGenerator == null) {
+      return SolutionListUtils.selectNRandomDifferentSolutions(1, solutionList).get(0);
+    }
+    return SolutionListUtils.selectNRandomDifferentSolutions(1, solutionList, randomGenerator).get(0);
   }
 }
@@ -13,6 +13,7 @@ import core.RandomGenerator;
 import core.RepairDoubleSolution;
 import core.RepairDoubleSolutionWithBoundValue;
 import core.JMetalRandom;
+import core.SolutionPool;
 /**
  * This class allows to apply a SBX crossover operator using two parent solutions (Double encoding).
  * A {@link RepairDoubleSolution} object is used to decide the strategy to apply when a value is out
@@ -105,13 +106,53 @@ public class SBXCrossover implements CrossoverOperator<DoubleSolution> {
     return doCrossover(crossoverProbability, solutions.get(0), solutions.get(1));
   }
 
+  @Override
+  public List<DoubleSolution> execute(List<DoubleSolution> solutions, int numberOfChildren) {
+    Check.notNull(solutions);
+    Check.that(solutions.size() == 2, "There must be two parents instead of " + solutions.size());
+    checkNumberOfChildren(numberOfChildren);
+
+    return doCrossover(crossoverProbability, solutions.get(0), solutions.get(1), numberOfChildren);
+  }
+
+  @Override
+  public List<DoubleSolution> execute(List<DoubleSolution> solutions, List<DoubleSolution> targets) {
+    Check.notNull(solutions);
+    Check.that(solutions.size() == 2, "There must be two parents instead of " + solutions.size());
+    checkNumberOfChildren(targets.size());
+
+    return doCrossover(crossoverProbability, solutions.get(0), solutions.get(1), targets.size(), targets);
+  }
+
   /** doCrossover method */
   public List<DoubleSolution> doCrossover(
       double probability, DoubleSolution parent1, DoubleSolution parent2) {
-    List<DoubleSolution> offspring = new ArrayList<DoubleSolution>(2);
+    return doCrossover(probability, parent1, parent2, 2);
+  }
 
-    offspring.add((DoubleSolution) parent1.copy());
-    offspring.add((DoubleSolution) parent2.copy());
+  /**
+   * doCrossover method building only the first numberOfChildren offspring (1 or 2), with the same
+   * random numbers as when building both
+   */
+  public List<DoubleSolution> doCrossover(
+      double probability, DoubleSolution parent1, DoubleSolution parent2, int numberOfChildren) {
+    return doCrossover(probability, parent1, parent2, numberOfChildren, null);
+  }
+
+  /**
+   * Builds the first numberOfChildren offspring, written into the targets if they are not null
+   * (see {@link CrossoverOperator#execute(List, List)})
+   */
+  private List<DoubleSolution> doCrossover(
+      double probability, DoubleSolution parent1, DoubleSolution parent2, int numberOfChildren,
+      List<DoubleSolution> targets) {
+    boolean secondChild = numberOfChildren > 1;
+    List<DoubleSolution> offspring = new ArrayList<DoubleSolution>(numberOfChildren);
+
+    offspring.add(SolutionPool.copy(parent1, targets, 0));
+    if (secondChild) {
+      offspring.add(SolutionPool.copy(parent2, targets, 1));
+    }
 
     int i;
     double rand;
@@ -164,18 +205,26 @@ public class SBXCrossover implements CrossoverOperator<DoubleSolution> {
 
             if (randomGenerator.getRandomValue() <= 0.5) {
               offspring.get(0).variables().set(i, c2);
-              offspring.get(1).variables().set(i, c1);
+              if (secondChild) {
+                offspring.get(1).variables().set(i, c1);
+              }
             } else {
               offspring.get(0).variables().set(i, c1);
-              offspring.get(1).variables().set(i, c2);
+              if (secondChild) {
+                offspring.get(1).variables().set(i, c2);
+              }
             }
           } else {
             offspring.get(0).variables().set(i, valueX1);
-            offspring.get(1).variables().set(i, valueX2);
+            if (secondChild) {
+              offspring.get(1).variables().set(i, valueX2);
+            }
           }
         } else {
           offspring.get(0).variables().set(i, valueX2);
-          offspring.get(1).variables().set(i, valueX1);
+          if (secondChild) {
+            offspring.get(1).variables().set(i, valueX1);
+          }
         }
       }
     }
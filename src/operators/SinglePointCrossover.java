@@ -12,6 +12,8 @@ import core.CrossoverOperator;
 import core.JMetalException;
 import core.RandomGenerator;
 import core.JMetalRandom;
+import core.PackedBinarySolution;
+import core.SolutionPool;
 
 /**
  * This class implements a single point crossover operator.
@@ -32,6 +34,11 @@ public class SinglePointCrossover implements CrossoverOperator<BinarySolution> {
         (a, b) -> JMetalRandom.getInstance().nextInt(a, b));
   }
 
+  /** Constructor drawing the random numbers from the given instance */
+  public SinglePointCrossover(double crossoverProbability, JMetalRandom random) {
+    this(crossoverProbability, random::nextDouble, random::nextInt);
+  }
+
   /** Constructor */
   public SinglePointCrossover(
       double crossoverProbability, RandomGenerator<Double> randomGenerator) {
@@ -73,6 +80,24 @@ public class SinglePointCrossover implements CrossoverOperator<BinarySolution> {
     return doCrossover(crossoverProbability, solutions.get(0), solutions.get(1));
   }
 
+  @Override
+  public List<BinarySolution> execute(List<BinarySolution> solutions, int numberOfChildren) {
+    Check.notNull(solutions);
+    Check.that(solutions.size() == 2, "There must be two parents instead of " + solutions.size());
+    checkNumberOfChildren(numberOfChildren);
+
+    return doCrossover(crossoverProbability, solutions.get(0), solutions.get(1), numberOfChildren);
+  }
+
+  @Override
+  public List<BinarySolution> execute(List<BinarySolution> solutions, List<BinarySolution> targets) {
+    Check.notNull(solutions);
+    Check.that(solutions.size() == 2, "There must be two parents instead of " + solutions.size());
+    checkNumberOfChildren(targets.size());
+
+    return doCrossover(crossoverProbability, solutions.get(0), solutions.get(1), targets.size(), targets);
+  }
+
   /**
    * Perform the crossover operation.
    *
@@ -83,9 +108,31 @@ public class SinglePointCrossover implements CrossoverOperator<BinarySolution> {
    */
   public List<BinarySolution> doCrossover(
       double probability, BinarySolution parent1, BinarySolution parent2) {
-    List<BinarySolution> offspring = new ArrayList<>(2);
-    offspring.add((BinarySolution) parent1.copy());
-    offspring.add((BinarySolution) parent2.copy());
+    return doCrossover(probability, parent1, parent2, 2);
+  }
+
+  /**
+   * Perform the crossover operation building only the first numberOfChildren offspring (1 or 2),
+   * with the same random numbers as when building both
+   */
+  public List<BinarySolution> doCrossover(
+      double probability, BinarySolution parent1, BinarySolution parent2, int numberOfChildren) {
+    return doCrossover(probability, parent1, parent2, numberOfChildren, null);
+  }
+
+  /**
+   * Builds the first numberOfChildren offspring, written into the targets if they are not null
+   * (see {@link CrossoverOperator#execute(List, List)})
+   */
+  private List<BinarySolution> doCrossover(
+      double probability, BinarySolution parent1, BinarySolution parent2, int numberOfChildren,
+      List<BinarySolution> targets) {
+    boolean secondChild = numberOfChildren > 1;
+    List<BinarySolution> offspring = new ArrayList<>(numberOfChildren);
+    offspring.add(SolutionPool.copy(parent1, targets, 0));
+    if (secondChild) {
+      offspring.add(SolutionPool.copy(parent2, targets, 1));
+    }
 
     if (crossoverRandomGenerator.getRandomValue() < probability) {
       // 1. Get the total number of bits
@@ -94,6 +141,21 @@ public class SinglePointCrossover implements CrossoverOperator<BinarySolution> {
       // 2. Calculate the point to make the crossover
       int crossoverPoint = pointRandomGenerator.getRandomValue(0, totalNumberOfBits - 1);
 
+      if (parent1 instanceof PackedBinarySolution && parent2 instanceof PackedBinarySolution) {
+        if (secondChild) {
+          swapTails(
+              ((PackedBinarySolution) offspring.get(0)).getWords(),
+              ((PackedBinarySolution) offspring.get(1)).getWords(),
+              crossoverPoint);
+        } else {
+          copyTail(
+              ((PackedBinarySolution) parent2).getWords(),
+              ((PackedBinarySolution) offspring.get(0)).getWords(),
+              crossoverPoint);
+        }
+        return offspring;
+      }
+
       // 3. Compute the variable containing the crossover bit
       int variable = 0;
       int bitsAccount = parent1.variables().get(variable).getBinarySetLength();
@@ -118,17 +180,43 @@ public class SinglePointCrossover implements CrossoverOperator<BinarySolution> {
       }
 
       offspring.get(0).variables().set(variable, offspring1);
-      offspring.get(1).variables().set(variable, offspring2);
+      if (secondChild) {
+        offspring.get(1).variables().set(variable, offspring2);
+      }
 
       // 6. Apply the crossover to the other variables
       for (int i = variable + 1; i < parent1.variables().size(); i++) {
         offspring.get(0).variables().set(i, (BinarySet) parent2.variables().get(i).clone());
-        offspring.get(1).variables().set(i, (BinarySet) parent1.variables().get(i).clone());
+        if (secondChild) {
+          offspring.get(1).variables().set(i, (BinarySet) parent1.variables().get(i).clone());
+        }
       }
     }
     return offspring;
   }
 
+  /** Swaps the bits from the crossover point on, a word at a time */
+  private static void swapTails(long[] words1, long[] words2, int crossoverPoint) {
+    int first = crossoverPoint >>> 6;
+    long mask = -1L << crossoverPoint;
+    long swap = (words1[first] ^ words2[first]) & mask;
+    words1[first] ^= swap;
+    words2[first] ^= swap;
+    for (int w = first + 1; w < words1.length; w++) {
+      long temp = words1[w];
+      words1[w] = words2[w];
+      words2[w] = temp;
+    }
+  }
+
+  /** Copies the bits from the crossover point on */
+  private static void copyTail(long[] from, long[] to, int crossoverPoint) {
+    int first = crossoverPoint >>> 6;
+    long mask = -1L << crossoverPoint;
+    to[first] = (to[first] & ~mask) | (from[first] & mask);
+    System.arraycopy(from, first + 1, to, first + 1, to.length - first - 1);
+  }
+
   @Override
   public int getNumberOfRequiredParents() {
     return 2;
@@ -9,6 +9,8 @@ import core.CrossoverOperator;
 import core.JMetalException;
 import core.RandomGenerator;
 import core.JMetalRandom;
+import core.PackedBinarySolution;
+import core.SolutionPool;
 
 /**
  * This class implements a uniform crosoover operator for binary solutions.
@@ -54,6 +56,24 @@ public class UniformCrossover implements CrossoverOperator<BinarySolution> {
     return doCrossover(crossoverProbability, solutions.get(0), solutions.get(1));
   }
 
+  @Override
+  public List<BinarySolution> execute(List<BinarySolution> solutions, int numberOfChildren) {
+    Check.notNull(solutions);
+    Check.that(solutions.size() == 2, "There must be two parents instead of " + solutions.size());
+    checkNumberOfChildren(numberOfChildren);
+
+    return doCrossover(crossoverProbability, solutions.get(0), solutions.get(1), numberOfChildren);
+  }
+
+  @Override
+  public List<BinarySolution> execute(List<BinarySolution> solutions, List<BinarySolution> targets) {
+    Check.notNull(solutions);
+    Check.that(solutions.size() == 2, "There must be two parents instead of " + solutions.size());
+    checkNumberOfChildren(targets.size());
+
+    return doCrossover(crossoverProbability, solutions.get(0), solutions.get(1), targets.size(), targets);
+  }
+
   /**
    * Perform the crossover operation.
    *
@@ -64,11 +84,48 @@ public class UniformCrossover implements CrossoverOperator<BinarySolution> {
    */
   public List<BinarySolution> doCrossover(
       double probability, BinarySolution parent1, BinarySolution parent2) {
-    List<BinarySolution> offspring = new ArrayList<>(2);
-    offspring.add((BinarySolution) parent1.copy());
-    offspring.add((BinarySolution) parent2.copy());
+    return doCrossover(probability, parent1, parent2, 2);
+  }
+
+  /**
+   * Perform the crossover operation building only the first numberOfChildren offspring (1 or 2),
+   * with the same random numbers as when building both
+   */
+  public List<BinarySolution> doCrossover(
+      double probability, BinarySolution parent1, BinarySolution parent2, int numberOfChildren) {
+    return doCrossover(probability, parent1, parent2, numberOfChildren, null);
+  }
+
+  /**
+   * Builds the first numberOfChildren offspring, written into the targets if they are not null
+   * (see {@link CrossoverOperator#execute(List, List)})
+   */
+  private List<BinarySolution> doCrossover(
+      double probability, BinarySolution parent1, BinarySolution parent2, int numberOfChildren,
+      List<BinarySolution> targets) {
+    boolean secondChild = numberOfChildren > 1;
+    List<BinarySolution> offspring = new ArrayList<>(numberOfChildren);
+    offspring.add(SolutionPool.copy(parent1, targets, 0));
+    if (secondChild) {
+      offspring.add(SolutionPool.copy(parent2, targets, 1));
+    }
 
     if (crossoverRandomGenerator.getRandomValue() < probability) {
+      if (parent1 instanceof PackedBinarySolution && parent2 instanceof PackedBinarySolution) {
+        PackedBinarySolution offspring1 = (PackedBinarySolution) offspring.get(0);
+        PackedBinarySolution offspring2 = secondChild ? (PackedBinarySolution) offspring.get(1) : null;
+        PackedBinarySolution other = (PackedBinarySolution) parent2;
+        for (int bitIndex = 0; bitIndex < offspring1.getTotalNumberOfBits(); bitIndex++) {
+          if (crossoverRandomGenerator.getRandomValue() < 0.5) {
+            boolean bit = offspring1.getBit(bitIndex);
+            offspring1.setBit(bitIndex, other.getBit(bitIndex));
+            if (secondChild) {
+              offspring2.setBit(bitIndex, bit);
+            }
+          }
+        }
+        return offspring;
+      }
       for (int variableIndex = 0; variableIndex < parent1.variables().size(); variableIndex++) {
         for (int bitIndex = 0;
             bitIndex < parent1.variables().get(variableIndex).getBinarySetLength();
@@ -78,10 +135,12 @@ public class UniformCrossover implements CrossoverOperator<BinarySolution> {
                 .get(0)
                 .variables().get(variableIndex)
                 .set(bitIndex, parent2.variables().get(variableIndex).get(bitIndex));
-            offspring
-                .get(1)
-                .variables().get(variableIndex)
-                .set(bitIndex, parent1.variables().get(variableIndex).get(bitIndex));
+            if (secondChild) {
+              offspring
+                  .get(1)
+                  .variables().get(variableIndex)
+                  .set(bitIndex, parent1.variables().get(variableIndex).get(bitIndex));
+            }
           }
         }
       }
@@ -0,0 +1,185 @@
+package problems;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import core.JMetalException;
+
+/**
+ * Binary format of the problem instances, read by mapping the file in memory and copying whole rows
+ * at a time into the matrices of the problem, instead of parsing the text files line by line.
+ *
+ * A file is a header followed by the data of the problem, all little-endian:
+ * <pre>
+ * int magic ("MOPI"), int version, int kind, int number of sizes, int sizes[...]
+ * padding to a multiple of 8 bytes
+ * the ints and doubles of the problem, each block of ints padded to a multiple of 8 bytes
+ * </pre>
+ * The sizes and the order of the data are defined by each problem (see the {@code saveBinary}
+ * methods of {@link Knapsack01}, {@link MONKLand}, {@link MOTSP} and {@link MOQAP}).
+ */
+public class BinaryInstance {
+	static final int MAGIC = 0x49504F4D; // "MOPI" in little-endian
+	static final int VERSION = 1;
+
+	static final int KNAPSACK = 1;
+	static final int NK_LANDSCAPE = 2;
+	static final int TSP = 3;
+	static final int QAP = 4;
+
+	/** Whether the file starts with the magic number of the binary instances */
+	public static boolean isBinary(String path) {
+		Path file = Paths.get(path);
+		if (!Files.isRegularFile(file)) {
+			return false;
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+			while (magic.hasRemaining() && channel.read(magic) >= 0)
+				;
+			return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/** Reads a binary instance from a memory mapping of the whole file */
+	static class Reader {
+		private final MappedByteBuffer buffer;
+		private final int[] sizes;
+
+		Reader(String path, int kind) {
+			try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+				if (channel.size() > Integer.MAX_VALUE) {
+					throw new JMetalException("Instance file too large: " + path);
+				}
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			} catch (IOException e) {
+				throw new JMetalException("Error reading the instance file " + path + ": " + e);
+			}
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			if (buffer.remaining() < 16 || buffer.getInt() != MAGIC) {
+				throw new JMetalException("Not a binary instance file: " + path);
+			}
+			int version = buffer.getInt();
+			if (version != VERSION) {
+				throw new JMetalException("Unsupported version " + version + " of the instance file " + path);
+			}
+			int fileKind = buffer.getInt();
+			if (fileKind != kind) {
+				throw new JMetalException("The instance file " + path + " is of kind " + fileKind + " instead of " + kind);
+			}
+			sizes = new int[buffer.getInt()];
+			for (int i = 0; i < sizes.length; i++) {
+				sizes[i] = buffer.getInt();
+			}
+			align();
+		}
+
+		int[] getSizes() {
+			return sizes;
+		}
+
+		double readDouble() {
+			return buffer.getDouble();
+		}
+
+		void readDoubles(double[] values) {
+			buffer.asDoubleBuffer().get(values);
+			buffer.position(buffer.position() + values.length * Double.BYTES);
+		}
+
+		void readInts(int[] values) {
+			buffer.asIntBuffer().get(values);
+			buffer.position(buffer.position() + values.length * Integer.BYTES);
+		}
+
+		/** Skips the padding after a block of ints */
+		void align() {
+			buffer.position((buffer.position() + 7) & ~7);
+		}
+	}
+
+	/** Writes a binary instance through a buffer, in the order the data is given */
+	static class Writer implements AutoCloseable {
+		private final FileChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+		private long position = 0;
+
+		/** Creates the file, which must not exist yet */
+		Writer(String path, int kind, int... sizes) throws IOException {
+			channel = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+			writeInt(MAGIC);
+			writeInt(VERSION);
+			writeInt(kind);
+			writeInt(sizes.length);
+			for (int size : sizes) {
+				writeInt(size);
+			}
+			align();
+		}
+
+		void writeInt(int value) throws IOException {
+			ensure(Integer.BYTES);
+			buffer.putInt(value);
+			position += Integer.BYTES;
+		}
+
+		void writeDouble(double value) throws IOException {
+			ensure(Double.BYTES);
+			buffer.putDouble(value);
+			position += Double.BYTES;
+		}
+
+		void writeInts(int[] values) throws IOException {
+			for (int value : values) {
+				writeInt(value);
+			}
+		}
+
+		void writeDoubles(double[] values) throws IOException {
+			for (double value : values) {
+				writeDouble(value);
+			}
+		}
+
+		/** Pads a block of ints to a multiple of 8 bytes */
+		void align() throws IOException {
+			while ((position & 7) != 0) {
+				ensure(1);
+				buffer.put((byte) 0);
+				position++;
+			}
+		}
+
+		private void ensure(int bytes) throws IOException {
+			if (buffer.remaining() < bytes) {
+				flush();
+			}
+		}
+
+		private void flush() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				flush();
+			} finally {
+				channel.close();
+			}
+		}
+	}
+}
@@ -14,7 +14,10 @@ import java.util.List;
 
 import core.AbstractBinaryProblem;
 import core.BinarySolution;
+import core.DeltaEvaluationProblem;
+import core.JMetalException;
 import core.JMetalRandom;
+import core.PackedBinarySolution;
 
 
 /**
@@ -26,7 +29,7 @@ import core.JMetalRandom;
  * to that single-objective optima.
  * This goes under the minisation framework of jMetal.
  */
-public class Knapsack01 extends AbstractBinaryProblem {
+public class Knapsack01 extends AbstractBinaryProblem implements DeltaEvaluationProblem<BinarySolution> {
 	
 	/**
 	 * 
@@ -40,6 +43,9 @@ public class Knapsack01 extends AbstractBinaryProblem {
 	public double[] value2;
 	private List<Integer> bitsPerVariable;
 	double[][] refFront = null;
+	/** Attribute of the evaluated solutions holding their {@link Totals}, see {@link #setIncrementalEvaluation(boolean)} */
+	private static final String TOTALS = "Knapsack01.totals";
+	private boolean incrementalEvaluation = false;
 	
 	public Knapsack01() {
 		initProblem(50);
@@ -60,7 +66,11 @@ public class Knapsack01 extends AbstractBinaryProblem {
 		super.setName(name);
 	}
 	
+	/** Loads an instance in the text format of {@link #save(String)} or in the binary format of {@link #saveBinary(String)} */
 	public Knapsack01 load(String path) {
+		if (BinaryInstance.isBinary(path)) {
+			return loadBinary(path);
+		}
 		FileInputStream inputStream;
 		try {
 			inputStream = new FileInputStream(path);
@@ -110,6 +120,51 @@ public class Knapsack01 extends AbstractBinaryProblem {
 		}
 	}
 	
+	/**
+	 * Saves the instance in the binary format of {@link BinaryInstance}: size n, then the weight
+	 * limit, the weights and the two values of the items
+	 */
+	public void saveBinary(String path) {
+		if (new File(path).exists()) {
+			System.out.println("Save failed, file exists");
+			return;
+		}
+		try (BinaryInstance.Writer writer = new BinaryInstance.Writer(path, BinaryInstance.KNAPSACK, n)) {
+			writer.writeDouble(weightLimit);
+			writer.writeDoubles(weight);
+			writer.writeDoubles(value1);
+			writer.writeDoubles(value2);
+		} catch (IOException e) {
+			throw new JMetalException("Error saving the instance to " + path + ": " + e);
+		}
+	}
+
+	/** Loads an instance saved by {@link #saveBinary(String)}, whatever the size the problem was created with */
+	public Knapsack01 loadBinary(String path) {
+		BinaryInstance.Reader reader = new BinaryInstance.Reader(path, BinaryInstance.KNAPSACK);
+		int n = reader.getSizes()[0];
+		double weightLimit = reader.readDouble();
+		double[] weight = new double[n];
+		double[] value1 = new double[n];
+		double[] value2 = new double[n];
+		reader.readDoubles(weight);
+		reader.readDoubles(value1);
+		reader.readDoubles(value2);
+
+		this.n = n;
+		this.weightLimit = weightLimit;
+		this.weight = weight;
+		this.value1 = value1;
+		this.value2 = value2;
+		setNumberOfVariables(n);
+		setName("KP-"+n);
+		bitsPerVariable = new ArrayList<>(n);
+		for (int i=0; i<n; i++) bitsPerVariable.add(1);
+		opt1 = optimalValue(0);
+		opt2 = optimalValue(1);
+		return this;
+	}
+
 	double[] doubles(double... x) {return x;}
 	
 	public void initProblem(int n) {
@@ -166,20 +221,139 @@ public class Knapsack01 extends AbstractBinaryProblem {
 	}
 	
 
+	/**
+	 * Keeps the total weight and values of each evaluated solution in one of its attributes, so that
+	 * {@link #evaluate(BinarySolution, BinarySolution)} and {@link #evaluateFlips} can start from
+	 * them (e.g. with {@link algorithms.SMSEMOA#setDeltaEvaluation(boolean)}). The totals are only
+	 * used for the solution they were computed for, not for its copies, whose bits may have been
+	 * changed by a crossover. Off by default, since most solutions then get an attribute map.
+	 */
+	public void setIncrementalEvaluation(boolean incrementalEvaluation) {
+		this.incrementalEvaluation = incrementalEvaluation;
+	}
+
+	public boolean isIncrementalEvaluation() {
+		return incrementalEvaluation;
+	}
+
+	/**
+	 * The evaluations only read the instance and write to the solution
+	 */
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
+	/**
+	 * Sums the weight and the values over the set bits only, a 64-bit word at a time
+	 */
 	@Override
-	public synchronized BinarySolution evaluate(BinarySolution solution) {
+	public BinarySolution evaluate(BinarySolution solution) {
+		long[] words = packBits(solution);
 		double totalWeight = 0;
 		double totalValue1 = 0;
 		double totalValue2 = 0;
-		for (int i=0; i<n; i++) {
-			boolean bit = solution.variables().get(i).get(0);
-			if (bit) {
+		for (int w=0; w<words.length; w++) {
+			long word = words[w];
+			while (word != 0) {
+				int i = (w << 6) + Long.numberOfTrailingZeros(word);
 				totalWeight += weight[i];
 				totalValue1 += value1[i];
 				totalValue2 += value2[i];
+				word &= word - 1;
 			}
 		}
-		
+		setObjectives(solution, totalWeight, totalValue1, totalValue2);
+		return solution;
+	}
+
+	/**
+	 * Delta evaluation: starts from the totals of the reference and only adds or removes the items
+	 * of the bits that differ (found a word at a time). Falls back to
+	 * {@link #evaluate(BinarySolution)} if the totals of the reference are not known, see
+	 * {@link #setIncrementalEvaluation(boolean)}.
+	 */
+	@Override
+	public BinarySolution evaluate(BinarySolution solution, BinarySolution reference) {
+		Totals totals = totalsOf(reference);
+		if (totals == null) {
+			return evaluate(solution);
+		}
+		long[] words = packBits(solution);
+		long[] referenceWords = packBits(reference);
+		double totalWeight = totals.weight;
+		double totalValue1 = totals.value1;
+		double totalValue2 = totals.value2;
+		for (int w=0; w<words.length; w++) {
+			long changed = words[w] ^ referenceWords[w];
+			while (changed != 0) {
+				int i = (w << 6) + Long.numberOfTrailingZeros(changed);
+				double sign = (words[w] & (changed & -changed)) != 0 ? 1 : -1;
+				totalWeight += sign * weight[i];
+				totalValue1 += sign * value1[i];
+				totalValue2 += sign * value2[i];
+				changed &= changed - 1;
+			}
+		}
+		setObjectives(solution, totalWeight, totalValue1, totalValue2);
+		return solution;
+	}
+
+	/**
+	 * Updates an evaluated solution whose bits at the given positions have just been flipped (e.g.
+	 * by {@link operators.BitFlipMutation}, see {@link operators.BitFlipMutation#getFlippedBits()}),
+	 * in O(1) per flipped bit. The solution itself must have been evaluated before the flips: a child
+	 * of a crossover, a copy of its parent, is evaluated completely instead.
+	 */
+	public void evaluateFlips(BinarySolution solution, int[] flippedBits, int numberOfFlippedBits) {
+		Totals totals = totalsOf(solution);
+		if (totals == null) {
+			evaluate(solution);
+			return;
+		}
+		boolean packed = solution instanceof PackedBinarySolution;
+		double totalWeight = totals.weight;
+		double totalValue1 = totals.value1;
+		double totalValue2 = totals.value2;
+		for (int f=0; f<numberOfFlippedBits; f++) {
+			int i = flippedBits[f];
+			boolean bit = packed ? ((PackedBinarySolution) solution).getBit(i) : solution.variables().get(i).get(0);
+			double sign = bit ? 1 : -1;
+			totalWeight += sign * weight[i];
+			totalValue1 += sign * value1[i];
+			totalValue2 += sign * value2[i];
+		}
+		setObjectives(solution, totalWeight, totalValue1, totalValue2);
+	}
+
+	/**
+	 * Bits of the solution as 64-bit words: those of a {@link PackedBinarySolution} (not a copy),
+	 * gathered from the one-bit variables otherwise
+	 */
+	private long[] packBits(BinarySolution solution) {
+		if (solution instanceof PackedBinarySolution) {
+			return ((PackedBinarySolution) solution).getWords();
+		}
+		long[] words = new long[(n + 63) >>> 6];
+		for (int i=0; i<n; i++) {
+			if (solution.variables().get(i).get(0)) {
+				words[i >>> 6] |= 1L << i;
+			}
+		}
+		return words;
+	}
+
+	private void setObjectives(BinarySolution solution, double totalWeight, double totalValue1, double totalValue2) {
+		if (incrementalEvaluation) {
+			Totals totals = totalsOf(solution);
+			if (totals == null) {
+				totals = new Totals(solution);
+				solution.attributes().put(TOTALS, totals);
+			}
+			totals.weight = totalWeight;
+			totals.value1 = totalValue1;
+			totals.value2 = totalValue2;
+		}
 		if (totalWeight<=weightLimit) {
 			solution.objectives()[0] = - totalValue1;
 			solution.objectives()[1] = - totalValue2;
@@ -191,7 +365,37 @@ public class Knapsack01 extends AbstractBinaryProblem {
 			solution.constraints()[0] = -(totalWeight - weightLimit);
 			
 		}
-		return solution;
+	}
+
+	/** The totals computed for this very solution, null if there are none or they are those of another one */
+	private Totals totalsOf(BinarySolution solution) {
+		if (!incrementalEvaluation) {
+			return null;
+		}
+		Object totals = solution.attributes().get(TOTALS);
+		return totals instanceof Totals && ((Totals) totals).solution == solution ? (Totals) totals : null;
+	}
+
+	/**
+	 * Total weight and values of a solution at its last evaluation. The copies of the solution share
+	 * the attribute, so it remembers the solution it belongs to; it is updated in place when that
+	 * solution is evaluated again.
+	 */
+	private static final class Totals {
+		final BinarySolution solution;
+		double weight;
+		double value1;
+		double value2;
+
+		Totals(BinarySolution solution) {
+			this.solution = solution;
+		}
+	}
+
+	/** The solutions are packed in a single array of words, see {@link PackedBinarySolution} */
+	@Override
+	public BinarySolution createSolution() {
+		return new PackedBinarySolution(n, getNumberOfObjectives(), getNumberOfConstraints());
 	}
 
 	@Override
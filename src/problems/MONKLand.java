@@ -15,6 +15,8 @@ import java.util.Random;
 
 import core.AbstractBinaryProblem;
 import core.BinarySolution;
+import core.JMetalException;
+import core.PackedBinarySolution;
 
 
 public class MONKLand extends AbstractBinaryProblem {
@@ -29,6 +31,10 @@ public class MONKLand extends AbstractBinaryProblem {
 	double[][][] mat;
 	
 	int[][][] links;
+	/** niches[m][i]: sorted loci whose bits give the pattern of locus i in objective m */
+	int[][][] niches;
+	/** affectedNiches[m][j]: loci whose niche in objective m contains locus j */
+	int[][][] affectedNiches;
 	Random random = new Random();
 	
 	
@@ -79,6 +85,7 @@ public class MONKLand extends AbstractBinaryProblem {
 	    		}
 	    	}
 	    }
+	    compileNiches();
 	}
 	
 	private int intPow(int a, int b) {
@@ -89,31 +96,53 @@ public class MONKLand extends AbstractBinaryProblem {
 
 	
 	
-	@Override
-	public synchronized BinarySolution evaluate(BinarySolution solution) {
-		int[] bits = new int[N];
-		for (int i=0; i<N; i++) {
-			boolean bit = solution.variables().get(i).get(0);
-			bits[i] = bit ? 1 : 0;
+	/**
+	 * Sorts once the loci of every niche (the locus and its K links, whose bits form the index of the
+	 * pattern, the lowest locus being the most significant bit) and builds the reverse index of the
+	 * niches that each locus belongs to
+	 */
+	private void compileNiches() {
+		niches = new int[M][N][];
+		affectedNiches = new int[M][N][];
+		for (int m=0; m<M; m++) {
+			int[] counts = new int[N];
+			for (int i=0; i<N; i++) {
+				int[] niche = Arrays.copyOf(links[m][i], K + 1);
+				niche[K] = i;
+				Arrays.sort(niche);
+				niches[m][i] = niche;
+				for (int locus : niche) counts[locus]++;
+			}
+			for (int j=0; j<N; j++) {
+				affectedNiches[m][j] = new int[counts[j]];
+				counts[j] = 0;
+			}
+			for (int i=0; i<N; i++) {
+				for (int locus : niches[m][i]) {
+					affectedNiches[m][locus][counts[locus]++] = i;
+				}
+			}
 		}
+	}
+
+	/**
+	 * The evaluations only read the instance and write to the solution
+	 */
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
+	@Override
+	public BinarySolution evaluate(BinarySolution solution) {
+		int[] bits = getBits(solution);
 		
 		double[] obj = new double[M];
 		for (int m=0; m<M; m++) obj[m]=0;
 		
-		int[] indexes = new int[K + 1];  // re-used across iterations
-        int[] nicheBits = new int[K + 1]; // re-used to store bits in sorted order
 		for (int i=0; i<N; i++) {
 			for (int m=0; m<M; m++) {
-				System.arraycopy(links[m][i], 0, indexes, 0, K);
-                indexes[K] = i;
-
-                Arrays.sort(indexes);
-				
-                for (int j = 0; j < K + 1; j++) {
-                    nicheBits[j] = bits[indexes[j]];
-                }
-                int patternIndex = bits2int(nicheBits);
-                obj[m] += mat[m][i][patternIndex];
+                obj[m] += mat[m][i][patternIndex(niches[m][i], bits)];
 			}
 		}
 		
@@ -123,20 +152,130 @@ public class MONKLand extends AbstractBinaryProblem {
 		
 		return solution;
 	}
-	
-	private int bits2int(int[] bits) {
-        int index = 0;
-        for (int b : bits) {
-            index = (index << 1) | (b & 1);
-        }
-        return index;
-    }
 
+	/**
+	 * Updates the objectives of an evaluated solution whose bits at the given loci have just been
+	 * flipped (e.g. by {@link operators.BitFlipMutation}, see
+	 * {@link operators.BitFlipMutation#getFlippedBits()}): only the niches of those loci are looked up
+	 * again, reading the bits of their K+1 loci from the solution. A locus belongs to K+1 niches per
+	 * objective on average, so a flipped bit costs O(M·K²), whatever the number of loci.
+	 *
+	 * The contributions of the niches are real numbers, so the result differs from the one of
+	 * {@link #evaluate(BinarySolution)} in the last bits, and it depends on the flips the solution was
+	 * reached by. This is why MONKLand is not a {@link core.DeltaEvaluationProblem}: the algorithms
+	 * always evaluate it completely, and only a caller that accepts the rounding uses this method.
+	 */
+	public void evaluateFlips(BinarySolution solution, int[] flippedBits, int numberOfFlippedBits) {
+		Scratch scratch = SCRATCH.get().ensure(N);
+		int[] flipped = scratch.flipped;
+		int[] visited = scratch.visited;
+		int flipEpoch = scratch.nextFlipEpoch();
+		for (int f=0; f<numberOfFlippedBits; f++) {
+			flipped[flippedBits[f]] = flipEpoch;
+		}
+		PackedBinarySolution packed = solution instanceof PackedBinarySolution ? (PackedBinarySolution) solution : null;
+		double[] objectives = solution.objectives();
+		for (int m=0; m<M; m++) {
+			int epoch = scratch.nextVisitEpoch();
+			double delta = 0;
+			for (int f=0; f<numberOfFlippedBits; f++) {
+				for (int i : affectedNiches[m][flippedBits[f]]) {
+					if (visited[i] != epoch) {
+						visited[i] = epoch;
+						// patterns of the niche after and before the flips
+						int index = 0;
+						int previousIndex = 0;
+						for (int locus : niches[m][i]) {
+							int bit = packed != null ? (packed.getBit(locus) ? 1 : 0)
+									: (solution.variables().get(locus).get(0) ? 1 : 0);
+							index = (index << 1) | bit;
+							previousIndex = (previousIndex << 1) | (flipped[locus] == flipEpoch ? bit ^ 1 : bit);
+						}
+						delta += mat[m][i][index] - mat[m][i][previousIndex];
+					}
+				}
+			}
+			objectives[m] = objectives[m] - delta/N;
+		}
+	}
+
+	/**
+	 * Marks of the flipped loci and of the niches already updated, valid for the current epoch of
+	 * their array only so that they need not be cleared, reused by each thread
+	 */
+	private static final class Scratch {
+		int[] flipped = new int[0];
+		int[] visited = new int[0];
+		int flipEpoch = 0;
+		int visitEpoch = 0;
+
+		/** Makes room for n loci */
+		Scratch ensure(int n) {
+			if (flipped.length < n) {
+				flipped = new int[n];
+				visited = new int[n];
+				flipEpoch = 0;
+				visitEpoch = 0;
+			}
+			return this;
+		}
+
+		/** Starts a new epoch of the flipped loci, in which none is marked */
+		int nextFlipEpoch() {
+			if (++flipEpoch == 0) {
+				Arrays.fill(flipped, 0);
+				flipEpoch = 1;
+			}
+			return flipEpoch;
+		}
+
+		/** Starts a new epoch of the niches, in which none is marked */
+		int nextVisitEpoch() {
+			if (++visitEpoch == 0) {
+				Arrays.fill(visited, 0);
+				visitEpoch = 1;
+			}
+			return visitEpoch;
+		}
+	}
+
+	private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+	private int[] getBits(BinarySolution solution) {
+		int[] bits = new int[N];
+		if (solution instanceof PackedBinarySolution) {
+			PackedBinarySolution packed = (PackedBinarySolution) solution;
+			for (int i=0; i<N; i++) {
+				bits[i] = packed.getBit(i) ? 1 : 0;
+			}
+			return bits;
+		}
+		for (int i=0; i<N; i++) {
+			boolean bit = solution.variables().get(i).get(0);
+			bits[i] = bit ? 1 : 0;
+		}
+		return bits;
+	}
+
+	private static int patternIndex(int[] niche, int[] bits) {
+		int index = 0;
+		for (int locus : niche) {
+			index = (index << 1) | bits[locus];
+		}
+		return index;
+	}
+	
 	@Override
 	public void setName(String name) {
 		super.setName(name);
 	}
 	
+	/** The solutions are packed in a single array of words, see {@link PackedBinarySolution} */
+	@Override
+	public BinarySolution createSolution() {
+		return new PackedBinarySolution(N, getNumberOfObjectives(), getNumberOfConstraints());
+	}
+
 	@Override
 	public List<Integer> getListOfBitsPerVariable() {
 		return bitsPerVariable;
@@ -183,7 +322,11 @@ public class MONKLand extends AbstractBinaryProblem {
 		}
 	}
 	
+	/** Loads an instance in the text format of {@link #save(String)} or in the binary format of {@link #saveBinary(String)} */
 	public MONKLand load(String path) {
+	    if (BinaryInstance.isBinary(path)) {
+	        return loadBinary(path);
+	    }
 	    try (BufferedReader reader = new BufferedReader(new FileReader(new File(path)))) {
 	        this.N = Integer.valueOf(reader.readLine());
 	        this.M = Integer.valueOf(reader.readLine());
@@ -215,8 +358,70 @@ public class MONKLand extends AbstractBinaryProblem {
 	        System.out.println("File not exist, creating one");
 	        save(path);
 	    }
+	    compileNiches();
 
 	    return this;
 	}
 	
+	/**
+	 * Saves the instance in the binary format of {@link BinaryInstance}: sizes N, M and K, then the
+	 * links of the loci of each objective and the M matrices of contributions
+	 */
+	public void saveBinary(String path) {
+		if (new File(path).exists()) {
+			System.out.println("Save failed, file exists");
+			return;
+		}
+		try (BinaryInstance.Writer writer = new BinaryInstance.Writer(path, BinaryInstance.NK_LANDSCAPE, N, M, K)) {
+			for (int m=0; m<M; m++) {
+				for (int i=0; i<N; i++) {
+					writer.writeInts(links[m][i]);
+				}
+			}
+			writer.align();
+			for (int m=0; m<M; m++) {
+				for (int i=0; i<N; i++) {
+					writer.writeDoubles(mat[m][i]);
+				}
+			}
+		} catch (IOException e) {
+			throw new JMetalException("Error saving the instance to " + path + ": " + e);
+		}
+	}
+
+	/** Loads an instance saved by {@link #saveBinary(String)}, whatever the size the problem was created with */
+	public MONKLand loadBinary(String path) {
+		BinaryInstance.Reader reader = new BinaryInstance.Reader(path, BinaryInstance.NK_LANDSCAPE);
+		int N = reader.getSizes()[0];
+		int M = reader.getSizes()[1];
+		int K = reader.getSizes()[2];
+		int matSize = intPow(2, K + 1);
+		int[][][] links = new int[M][N][K];
+		for (int m=0; m<M; m++) {
+			for (int i=0; i<N; i++) {
+				reader.readInts(links[m][i]);
+			}
+		}
+		reader.align();
+		double[][][] mat = new double[M][N][matSize];
+		for (int m=0; m<M; m++) {
+			for (int i=0; i<N; i++) {
+				reader.readDoubles(mat[m][i]);
+			}
+		}
+
+		this.N = N;
+		this.M = M;
+		this.K = K;
+		this.matSize = matSize;
+		this.links = links;
+		this.mat = mat;
+		setNumberOfVariables(N);
+		setName("NK-"+N+"-"+K);
+		bitsPerVariable = new ArrayList<Integer>(N);
+		for (int i=0; i<N; i++) bitsPerVariable.add(1);
+		compileNiches();
+		return this;
+	}
+	
 }
@@ -12,11 +12,15 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 
 import core.AbstractIntegerPermutationProblem;
+import core.DeltaEvaluationProblem;
+import core.IntArrayPermutationSolution;
+import core.JMetalException;
 import core.JMetalRandom;
 import core.PermutationSolution;
 
 
-public class MOQAP extends AbstractIntegerPermutationProblem {
+public class MOQAP extends AbstractIntegerPermutationProblem
+		implements DeltaEvaluationProblem<PermutationSolution<Integer>> {
 
 	int n;
 	int M = 2;
@@ -27,6 +31,23 @@ public class MOQAP extends AbstractIntegerPermutationProblem {
 	double[][] distance;
 
 	private double[][][] flows; // flow matrix
+	/** Layout of the matrices in the full evaluation, see {@link #setMatrixLayout(MatrixLayout, boolean)} */
+	private MatrixLayout layout = MatrixLayout.JAGGED;
+	private boolean singlePrecision = false;
+	/** Flat copies of distance and flows in that layout, in double or single precision, null until needed */
+	private volatile double[] flatDistance = null;
+	private volatile double[] flatFlows = null;
+	private volatile float[] flatDistanceFloat = null;
+	private volatile float[] flatFlowsFloat = null;
+	/** Whether the jagged layout is evaluated with {@link QAPVectorKernel}, see {@link #setVectorized(boolean)} */
+	private boolean vectorized = false;
+
+	/**
+	 * Whether the Vector API can be used: the jdk.incubator.vector module is optional (requires static),
+	 * so it is only there when the program is started with --add-modules jdk.incubator.vector, and it
+	 * is only worth it with vectors of two doubles or more
+	 */
+	private static final boolean VECTOR_API_AVAILABLE = vectorApiAvailable();
 
 	public MOQAP() {
 		initProblem(50);
@@ -67,6 +88,7 @@ public class MOQAP extends AbstractIntegerPermutationProblem {
 				}
 			}
 		}
+		matricesChanged();
 	}
 
 	@Override
@@ -108,7 +130,11 @@ public class MOQAP extends AbstractIntegerPermutationProblem {
 		}
 	}
 
+	/** Loads an instance in the text format of {@link #save(String)} or in the binary format of {@link #saveBinary(String)} */
 	public MOQAP load(String path) {
+		if (BinaryInstance.isBinary(path)) {
+			return loadBinary(path);
+		}
 		FileInputStream inputStream;
 		try {
 			inputStream = new FileInputStream(path);
@@ -138,22 +164,153 @@ public class MOQAP extends AbstractIntegerPermutationProblem {
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
+		matricesChanged();
 		
 		return this;
 	}
 
+	/**
+	 * Saves the instance in the binary format of {@link BinaryInstance}: sizes n and M, then the
+	 * distance matrix and the M flow matrices, row by row
+	 */
+	public void saveBinary(String path) {
+		if (new File(path).exists()) {
+			System.out.println("Save failed, file exists");
+			return;
+		}
+		try (BinaryInstance.Writer writer = new BinaryInstance.Writer(path, BinaryInstance.QAP, n, M)) {
+			for (int i = 0; i < n; i++) {
+				writer.writeDoubles(distance[i]);
+			}
+			for (int m = 0; m < M; m++) {
+				for (int i = 0; i < n; i++) {
+					writer.writeDoubles(flows[m][i]);
+				}
+			}
+		} catch (IOException e) {
+			throw new JMetalException("Error saving the instance to " + path + ": " + e);
+		}
+	}
+
+	/** Loads an instance saved by {@link #saveBinary(String)}, whatever the size the problem was created with */
+	public MOQAP loadBinary(String path) {
+		BinaryInstance.Reader reader = new BinaryInstance.Reader(path, BinaryInstance.QAP);
+		int n = reader.getSizes()[0];
+		int M = reader.getSizes()[1];
+		double[][] distance = new double[n][n];
+		for (int i = 0; i < n; i++) {
+			reader.readDoubles(distance[i]);
+		}
+		double[][][] flows = new double[M][n][n];
+		for (int m = 0; m < M; m++) {
+			for (int i = 0; i < n; i++) {
+				reader.readDoubles(flows[m][i]);
+			}
+		}
+
+		this.n = n;
+		this.M = M;
+		this.distance = distance;
+		this.flows = flows;
+		setNumberOfVariables(n);
+		setNumberOfObjectives(M);
+		setName("QAP-" + n);
+		matricesChanged();
+		return this;
+	}
+
+	/** Forgets the flat copies of the matrices, once they are generated or loaded again */
+	private void matricesChanged() {
+		flatDistance = null;
+		flatFlows = null;
+		flatDistanceFloat = null;
+		flatFlowsFloat = null;
+	}
+
+	/**
+	 * Selects the layout of the matrices read by {@link #evaluate(PermutationSolution)}. The flat
+	 * layouts are copies of the distance and flow matrices, made on the first evaluation and again
+	 * after an instance is loaded or generated. In single precision (ignored by the jagged layout)
+	 * the matrices are rounded to float and the costs accumulated in double; the delta evaluation,
+	 * that reads the jagged matrices, then falls back to the complete evaluation, so that all the
+	 * objectives are computed from the same matrices.
+	 */
+	public void setMatrixLayout(MatrixLayout layout, boolean singlePrecision) {
+		this.layout = layout;
+		this.singlePrecision = singlePrecision;
+		matricesChanged();
+	}
+
+	public MatrixLayout getMatrixLayout() {
+		return layout;
+	}
+
+	public boolean isSinglePrecision() {
+		return singlePrecision;
+	}
+
+	/**
+	 * Selects the SIMD evaluation of the jagged layout (requires the Vector API, see
+	 * {@link #isVectorApiAvailable()}). The vector kernel sums the costs in another order than the
+	 * scalar loop, so the objectives differ in the last bits (a few 1e-15 relative), and the results
+	 * of a run differ from those of a run with the scalar loop. Off by default, so that the objectives
+	 * do not depend on the options of the JVM.
+	 */
+	public void setVectorized(boolean vectorized) {
+		if (vectorized && !VECTOR_API_AVAILABLE) {
+			throw new JMetalException("The Vector API is not available, run with --add-modules jdk.incubator.vector");
+		}
+		this.vectorized = vectorized;
+	}
+
+	public boolean isVectorized() {
+		return vectorized;
+	}
+
+	public static boolean isVectorApiAvailable() {
+		return VECTOR_API_AVAILABLE;
+	}
+
+	private static boolean vectorApiAvailable() {
+		try {
+			Class.forName("jdk.incubator.vector.DoubleVector");
+			return QAPVectorKernel.SPECIES.length() >= 2;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * The evaluations only write to the solution; the flat copies of the matrices are published
+	 * through volatile fields, at worst computed twice
+	 */
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public PermutationSolution<Integer> evaluate(PermutationSolution<Integer> solution) {
 	    final int n       = solution.variables().size();
 	    final int M       = flows.length;
 	    final double[][]  distance = this.distance;
 	    final double[][][] flows    = this.flows;
-	    final int[] perm  = solution.variables()
-	                                  .stream()
-	                                  .mapToInt(Integer::intValue)
-	                                  .toArray();
+	    final int[] perm  = toArray(solution, SCRATCH.get().ensure(n).permutation);
 	    final double[] objectives = solution.objectives();
 
+	    if (layout != MatrixLayout.JAGGED) {
+	        if (singlePrecision) {
+	            evaluateFlat(perm, flatDistanceFloat(), flatFlowsFloat(), objectives);
+	        } else {
+	            evaluateFlat(perm, flatDistance(), flatFlows(), objectives);
+	        }
+	        return solution;
+	    }
+	    if (vectorized) {
+	        QAPVectorKernel.evaluate(perm, distance, flows, objectives);
+	        return solution;
+	    }
+
 	    Arrays.fill(objectives, 0.0);
 
 	    for (int k = 0; k < M; k++) {
@@ -171,4 +328,236 @@ public class MOQAP extends AbstractIntegerPermutationProblem {
 	    return solution;
 	}
 
+	/**
+	 * Costs of the assignment on flat copies of the matrices. In the interleaved layout the M flows
+	 * between two facilities are read together, so the distance matrix is traversed once for all the
+	 * objectives instead of once per objective.
+	 */
+	private void evaluateFlat(int[] perm, double[] distance, double[] flows, double[] objectives) {
+	    final int n = perm.length;
+	    final int M = this.M;
+	    if (layout == MatrixLayout.INTERLEAVED && M == 2) {
+	        double cost0 = 0.0;
+	        double cost1 = 0.0;
+	        for (int i = 0; i < n; i++) {
+	            final int row = i * n;
+	            final int flowRow = perm[i] * n;
+	            for (int j = 0; j < n; j++) {
+	                final double d = distance[row + j];
+	                final int base = (flowRow + perm[j]) << 1;
+	                cost0 += d * flows[base];
+	                cost1 += d * flows[base + 1];
+	            }
+	        }
+	        objectives[0] = cost0;
+	        objectives[1] = cost1;
+	    } else if (layout == MatrixLayout.INTERLEAVED) {
+	        Arrays.fill(objectives, 0, M, 0.0);
+	        for (int i = 0; i < n; i++) {
+	            final int row = i * n;
+	            final int flowRow = perm[i] * n;
+	            for (int j = 0; j < n; j++) {
+	                final double d = distance[row + j];
+	                final int base = (flowRow + perm[j]) * M;
+	                for (int k = 0; k < M; k++) {
+	                    objectives[k] += d * flows[base + k];
+	                }
+	            }
+	        }
+	    } else {
+	        for (int k = 0; k < M; k++) {
+	            final int offset = k * n * n;
+	            double cost = 0.0;
+	            for (int i = 0; i < n; i++) {
+	                final int row = i * n;
+	                final int flowRow = offset + perm[i] * n;
+	                for (int j = 0; j < n; j++) {
+	                    cost += distance[row + j] * flows[flowRow + perm[j]];
+	                }
+	            }
+	            objectives[k] = cost;
+	        }
+	    }
+	}
+
+	/** Same as {@link #evaluateFlat(int[], double[], double[], double[])} with the matrices in single precision */
+	private void evaluateFlat(int[] perm, float[] distance, float[] flows, double[] objectives) {
+	    final int n = perm.length;
+	    final int M = this.M;
+	    if (layout == MatrixLayout.INTERLEAVED && M == 2) {
+	        double cost0 = 0.0;
+	        double cost1 = 0.0;
+	        for (int i = 0; i < n; i++) {
+	            final int row = i * n;
+	            final int flowRow = perm[i] * n;
+	            for (int j = 0; j < n; j++) {
+	                final double d = distance[row + j];
+	                final int base = (flowRow + perm[j]) << 1;
+	                cost0 += d * flows[base];
+	                cost1 += d * flows[base + 1];
+	            }
+	        }
+	        objectives[0] = cost0;
+	        objectives[1] = cost1;
+	    } else if (layout == MatrixLayout.INTERLEAVED) {
+	        Arrays.fill(objectives, 0, M, 0.0);
+	        for (int i = 0; i < n; i++) {
+	            final int row = i * n;
+	            final int flowRow = perm[i] * n;
+	            for (int j = 0; j < n; j++) {
+	                final double d = distance[row + j];
+	                final int base = (flowRow + perm[j]) * M;
+	                for (int k = 0; k < M; k++) {
+	                    objectives[k] += d * flows[base + k];
+	                }
+	            }
+	        }
+	    } else {
+	        for (int k = 0; k < M; k++) {
+	            final int offset = k * n * n;
+	            double cost = 0.0;
+	            for (int i = 0; i < n; i++) {
+	                final int row = i * n;
+	                final int flowRow = offset + perm[i] * n;
+	                for (int j = 0; j < n; j++) {
+	                    cost += distance[row + j] * (double) flows[flowRow + perm[j]];
+	                }
+	            }
+	            objectives[k] = cost;
+	        }
+	    }
+	}
+
+	private double[] flatDistance() {
+	    double[] flat = flatDistance;
+	    if (flat == null) {
+	        flatDistance = flat = layout.flatten(new double[][][] {distance});
+	    }
+	    return flat;
+	}
+
+	private double[] flatFlows() {
+	    double[] flat = flatFlows;
+	    if (flat == null) {
+	        flatFlows = flat = layout.flatten(flows);
+	    }
+	    return flat;
+	}
+
+	private float[] flatDistanceFloat() {
+	    float[] flat = flatDistanceFloat;
+	    if (flat == null) {
+	        flatDistanceFloat = flat = layout.flattenToFloat(new double[][][] {distance});
+	    }
+	    return flat;
+	}
+
+	private float[] flatFlowsFloat() {
+	    float[] flat = flatFlowsFloat;
+	    if (flat == null) {
+	        flatFlowsFloat = flat = layout.flattenToFloat(flows);
+	    }
+	    return flat;
+	}
+
+	/**
+	 * Delta evaluation: only the rows and columns of the cost matrix at the positions where the
+	 * solution differs from the reference change, so the cost is O(M·n) per changed position instead
+	 * of O(M·n²): a child of {@link operators.PermutationSwapMutation} alone is evaluated from its
+	 * parent in O(M·n). Falls back to {@link #evaluate(PermutationSolution)} when a quarter of the
+	 * positions or more have changed, and in single precision.
+	 */
+	@Override
+	public PermutationSolution<Integer> evaluate(PermutationSolution<Integer> solution,
+			PermutationSolution<Integer> reference) {
+	    if (singlePrecision && layout != MatrixLayout.JAGGED) {
+	        return evaluate(solution);
+	    }
+	    final int n = solution.variables().size();
+	    final Scratch scratch = SCRATCH.get().ensure(n);
+	    final int[] perm = toArray(solution, scratch.permutation);
+	    final int[] ref  = toArray(reference, scratch.reference);
+	    final int[] changed = scratch.changed;
+	    int count = 0;
+	    for (int i = 0; i < n; i++) {
+	        if (perm[i] != ref[i]) {
+	            changed[count++] = i;
+	        }
+	    }
+	    if (count * 4 >= n) {
+	        return evaluate(solution);
+	    }
+
+	    updateObjectives(perm, ref, changed, count, reference.objectives(), solution.objectives());
+	    return solution;
+	}
+
+	/**
+	 * objectives = referenceObjectives + cost(perm) - cost(ref), where perm and ref only differ at
+	 * the changed positions: the terms of the other positions cancel out
+	 */
+	private void updateObjectives(int[] perm, int[] ref, int[] changed, int count, double[] referenceObjectives,
+			double[] objectives) {
+	    final int n = perm.length;
+	    final double[][] distance = this.distance;
+	    for (int k = 0; k < flows.length; k++) {
+	        final double[][] flowK = flows[k];
+	        double delta = 0.0;
+	        for (int c = 0; c < count; c++) {
+	            final int i  = changed[c];
+	            final int pi = perm[i];
+	            final int ri = ref[i];
+	            final double[] distanceI = distance[i];
+	            final double[] newRow = flowK[pi];
+	            final double[] oldRow = flowK[ri];
+	            // row i, for all the columns
+	            for (int j = 0; j < n; j++) {
+	                delta += distanceI[j] * (newRow[perm[j]] - oldRow[ref[j]]);
+	            }
+	            // column i, for the unchanged rows (the changed ones are counted in their row)
+	            for (int j = 0; j < n; j++) {
+	                final int pj = perm[j];
+	                if (pj == ref[j]) {
+	                    delta += distance[j][i] * (flowK[pj][pi] - flowK[pj][ri]);
+	                }
+	            }
+	        }
+	        objectives[k] = referenceObjectives[k] + delta;
+	    }
+	}
+
+	/**
+	 * The permutation as an int array: the array of an {@link IntArrayPermutationSolution} itself, so
+	 * read only, or the buffer filled with the values of the other solutions
+	 */
+	private static int[] toArray(PermutationSolution<Integer> solution, int[] buffer) {
+	    if (solution instanceof IntArrayPermutationSolution) {
+	        return ((IntArrayPermutationSolution) solution).getPermutation();
+	    }
+	    final int n = solution.variables().size();
+	    for (int i = 0; i < n; i++) {
+	        buffer[i] = solution.variables().get(i);
+	    }
+	    return buffer;
+	}
+
+	/** Permutations and changed positions of the evaluations, reused by each thread */
+	private static final class Scratch {
+	    int[] permutation = new int[0];
+	    int[] reference = new int[0];
+	    int[] changed = new int[0];
+
+	    /** Sizes the arrays for permutations of length n (exactly, the evaluations read perm.length) */
+	    Scratch ensure(int n) {
+	        if (changed.length != n) {
+	            permutation = new int[n];
+	            reference = new int[n];
+	            changed = new int[n];
+	        }
+	        return this;
+	    }
+	}
+
+	private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
 }
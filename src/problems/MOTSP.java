@@ -9,12 +9,17 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
 
 import core.AbstractIntegerPermutationProblem;
+import core.DeltaEvaluationProblem;
+import core.IntArrayPermutationSolution;
+import core.JMetalException;
 import core.JMetalRandom;
 import core.PermutationSolution;
 
-public class MOTSP extends AbstractIntegerPermutationProblem {
+public class MOTSP extends AbstractIntegerPermutationProblem
+		implements DeltaEvaluationProblem<PermutationSolution<Integer>> {
 
 	public int n;
 	int M = 2;
@@ -24,6 +29,14 @@ public class MOTSP extends AbstractIntegerPermutationProblem {
 	double[][] y;
 	public double[][][] map;
 	public String matType = "RAN";
+	/** Whether the matrices are symmetric, null until checked (see {@link #isSymmetric()}) */
+	private volatile Boolean symmetric = null;
+	/** Layout of the matrices in the full evaluation, see {@link #setMatrixLayout(MatrixLayout, boolean)} */
+	private MatrixLayout layout = MatrixLayout.JAGGED;
+	private boolean singlePrecision = false;
+	/** Flat copies of map in that layout, in double or single precision, null until needed */
+	private volatile double[] flatMap = null;
+	private volatile float[] flatMapFloat = null;
 
 	public MOTSP() {
 		initProblem(50);
@@ -42,6 +55,7 @@ public class MOTSP extends AbstractIntegerPermutationProblem {
 		setNumberOfVariables(n);
 		setNumberOfObjectives(M);
 		setName("TSP-" + n);
+		matricesChanged();
 
 		if (matType.contentEquals("EUC")) {
 			JMetalRandom random = JMetalRandom.getInstance();
@@ -87,6 +101,7 @@ public class MOTSP extends AbstractIntegerPermutationProblem {
 		setNumberOfVariables(n);
 		setNumberOfObjectives(m);
 		setName("TSP-" + n + "-" + m+"obj");
+		matricesChanged();
 
 		if (matType.contentEquals("EUC")) {
 			JMetalRandom random = JMetalRandom.getInstance();
@@ -138,6 +153,7 @@ public class MOTSP extends AbstractIntegerPermutationProblem {
 		map = new double[M][n][n];
 		map[0] = matrix1;
 		map[1] = matrix2;
+		matricesChanged();
 		return this;
 	}
 	
@@ -206,7 +222,11 @@ public class MOTSP extends AbstractIntegerPermutationProblem {
 		}
 	}
 
+	/** Loads an instance in the text format of {@link #save(String)} or in the binary format of {@link #saveBinary(String)} */
 	public MOTSP load(String path) {
+		if (BinaryInstance.isBinary(path)) {
+			return loadBinary(path);
+		}
 		FileInputStream inputStream;
 		try {
 			inputStream = new FileInputStream(path);
@@ -229,21 +249,111 @@ public class MOTSP extends AbstractIntegerPermutationProblem {
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
+		matricesChanged();
+		return this;
+	}
+
+	/**
+	 * Saves the instance in the binary format of {@link BinaryInstance}: sizes n and M, then the M
+	 * distance matrices, row by row
+	 */
+	public void saveBinary(String path) {
+		if (new File(path).exists()) {
+			System.out.println("Save failed, file exists");
+			return;
+		}
+		try (BinaryInstance.Writer writer = new BinaryInstance.Writer(path, BinaryInstance.TSP, n, M)) {
+			for (int m = 0; m < M; m++) {
+				for (int i = 0; i < n; i++) {
+					writer.writeDoubles(map[m][i]);
+				}
+			}
+		} catch (IOException e) {
+			throw new JMetalException("Error saving the instance to " + path + ": " + e);
+		}
+	}
+
+	/** Loads an instance saved by {@link #saveBinary(String)}, whatever the size the problem was created with */
+	public MOTSP loadBinary(String path) {
+		BinaryInstance.Reader reader = new BinaryInstance.Reader(path, BinaryInstance.TSP);
+		int n = reader.getSizes()[0];
+		int M = reader.getSizes()[1];
+		double[][][] map = new double[M][n][n];
+		for (int m = 0; m < M; m++) {
+			for (int i = 0; i < n; i++) {
+				reader.readDoubles(map[m][i]);
+			}
+		}
+
+		this.n = n;
+		this.M = M;
+		this.map = map;
+		setNumberOfVariables(n);
+		setNumberOfObjectives(M);
+		setName(M == 2 ? "TSP-" + n : "TSP-" + n + "-" + M + "obj");
+		matricesChanged();
 		return this;
 	}
 
+	/** Forgets what was derived from the matrices, once they are generated or loaded again */
+	private void matricesChanged() {
+		symmetric = null;
+		flatMap = null;
+		flatMapFloat = null;
+	}
+
+	/**
+	 * Selects the layout of the matrices read by {@link #evaluate(PermutationSolution)}. The flat
+	 * layouts are copies of {@link #map}, made on the first evaluation and again after an instance is
+	 * loaded or generated; call this method again after changing map directly. In single precision
+	 * (ignored by the jagged layout) the distances are rounded to float; the delta evaluations, that
+	 * read map, then fall back to complete evaluations, so that all the objectives are computed from
+	 * the same distances.
+	 */
+	public void setMatrixLayout(MatrixLayout layout, boolean singlePrecision) {
+		this.layout = layout;
+		this.singlePrecision = singlePrecision;
+		flatMap = null;
+		flatMapFloat = null;
+	}
+
+	public MatrixLayout getMatrixLayout() {
+		return layout;
+	}
+
+	public boolean isSinglePrecision() {
+		return singlePrecision;
+	}
+
+	/**
+	 * The evaluations only write to the solution; what they derive from the matrices (symmetry, flat
+	 * copies) is published through volatile fields, at worst computed twice
+	 */
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public PermutationSolution<Integer> evaluate(PermutationSolution<Integer> solution) {
+		int[] tour = toArray(solution);
+		if (layout != MatrixLayout.JAGGED) {
+			if (singlePrecision) {
+				evaluateFlat(tour, flatMapFloat(), solution.objectives());
+			} else {
+				evaluateFlat(tour, flatMap(), solution.objectives());
+			}
+			return solution;
+		}
 		double[] distance = new double[M];
 		for (int j = 0; j < M; j++)
 			distance[j] = 0;
 		for (int j = 0; j < M; j++) {
+			double[][] mapJ = map[j];
 			for (int i = 0; i < n - 1; i++) {
-				int start = solution.variables().get(i);
-				int dest = solution.variables().get(i + 1);
-				distance[j] += map[j][start][dest];
+				distance[j] += mapJ[tour[i]][tour[i + 1]];
 			}
-			distance[j] += map[j][solution.variables().get(n - 1)][solution.variables().get(0)];
+			distance[j] += mapJ[tour[n - 1]][tour[0]];
 		}
 		for (int j = 0; j < M; j++) {
 			solution.objectives()[j] = distance[j];
@@ -251,4 +361,289 @@ public class MOTSP extends AbstractIntegerPermutationProblem {
 		return solution;
 	}
 
+	/**
+	 * Length of the tour in each objective on a flat copy of the matrices. In the interleaved layout
+	 * the M distances of an edge are read together, in a single pass over the tour.
+	 */
+	private void evaluateFlat(int[] tour, double[] flat, double[] objectives) {
+		if (layout == MatrixLayout.INTERLEAVED && M == 2) {
+			double distance0 = 0;
+			double distance1 = 0;
+			for (int i = 0; i < n; i++) {
+				int base = (tour[i] * n + tour[i == n - 1 ? 0 : i + 1]) << 1;
+				distance0 += flat[base];
+				distance1 += flat[base + 1];
+			}
+			objectives[0] = distance0;
+			objectives[1] = distance1;
+		} else if (layout == MatrixLayout.INTERLEAVED) {
+			Arrays.fill(objectives, 0, M, 0.0);
+			for (int i = 0; i < n; i++) {
+				int base = (tour[i] * n + tour[i == n - 1 ? 0 : i + 1]) * M;
+				for (int k = 0; k < M; k++) {
+					objectives[k] += flat[base + k];
+				}
+			}
+		} else {
+			for (int k = 0; k < M; k++) {
+				int offset = k * n * n;
+				double distance = 0;
+				for (int i = 0; i < n - 1; i++) {
+					distance += flat[offset + tour[i] * n + tour[i + 1]];
+				}
+				objectives[k] = distance + flat[offset + tour[n - 1] * n + tour[0]];
+			}
+		}
+	}
+
+	/** Same as {@link #evaluateFlat(int[], double[], double[])} with the distances in single precision */
+	private void evaluateFlat(int[] tour, float[] flat, double[] objectives) {
+		if (layout == MatrixLayout.INTERLEAVED && M == 2) {
+			double distance0 = 0;
+			double distance1 = 0;
+			for (int i = 0; i < n; i++) {
+				int base = (tour[i] * n + tour[i == n - 1 ? 0 : i + 1]) << 1;
+				distance0 += flat[base];
+				distance1 += flat[base + 1];
+			}
+			objectives[0] = distance0;
+			objectives[1] = distance1;
+		} else if (layout == MatrixLayout.INTERLEAVED) {
+			Arrays.fill(objectives, 0, M, 0.0);
+			for (int i = 0; i < n; i++) {
+				int base = (tour[i] * n + tour[i == n - 1 ? 0 : i + 1]) * M;
+				for (int k = 0; k < M; k++) {
+					objectives[k] += flat[base + k];
+				}
+			}
+		} else {
+			for (int k = 0; k < M; k++) {
+				int offset = k * n * n;
+				double distance = 0;
+				for (int i = 0; i < n - 1; i++) {
+					distance += flat[offset + tour[i] * n + tour[i + 1]];
+				}
+				objectives[k] = distance + flat[offset + tour[n - 1] * n + tour[0]];
+			}
+		}
+	}
+
+	private double[] flatMap() {
+		double[] flat = flatMap;
+		if (flat == null) {
+			flatMap = flat = layout.flatten(map);
+		}
+		return flat;
+	}
+
+	private float[] flatMapFloat() {
+		float[] flat = flatMapFloat;
+		if (flat == null) {
+			flatMapFloat = flat = layout.flattenToFloat(map);
+		}
+		return flat;
+	}
+
+	/**
+	 * Delta evaluation in O(n + M·e), e being the number of edges of the tour that are not in the
+	 * reference tour (e.g. after an order crossover, that keeps most of the adjacencies of the
+	 * parents): only those edges, and the edges of the reference that are lost, are looked up in the
+	 * matrices. On symmetric matrices an edge counts in both directions, so reversed segments are free,
+	 * and a tour that is the reference with one segment reversed (e.g. a child of
+	 * {@link operators.InversionMutation} alone) is updated in O(M) once the segment is found, see
+	 * {@link #evaluateInversion(PermutationSolution, int, int)}. Falls back to
+	 * {@link #evaluate(PermutationSolution)} when half of the edges or more have changed, and in
+	 * single precision.
+	 */
+	@Override
+	public PermutationSolution<Integer> evaluate(PermutationSolution<Integer> solution,
+			PermutationSolution<Integer> reference) {
+		if (isRounded()) {
+			return evaluate(solution);
+		}
+		int[] tour = toArray(solution);
+		int[] referenceTour = toArray(reference);
+		boolean symmetric = isSymmetric();
+		double[] objectives = solution.objectives();
+
+		int first = 0;
+		while (first < n && tour[first] == referenceTour[first]) {
+			first++;
+		}
+		if (first == n) {
+			System.arraycopy(reference.objectives(), 0, objectives, 0, M);
+			return solution;
+		}
+		int last = n - 1;
+		while (tour[last] == referenceTour[last]) {
+			last--;
+		}
+		if (symmetric && isReversed(tour, referenceTour, first, last)) {
+			updateInversion(tour, first, last, reference.objectives(), objectives);
+			return solution;
+		}
+
+		Scratch scratch = SCRATCH.get().ensure(n);
+		int[] next = scratch.next;
+		int[] previous = scratch.previous;
+		int[] referenceNext = scratch.referenceNext;
+		int[] referencePrevious = scratch.referencePrevious;
+		for (int i = 0; i < n; i++) {
+			int j = i == n - 1 ? 0 : i + 1;
+			next[tour[i]] = tour[j];
+			previous[tour[j]] = tour[i];
+			referenceNext[referenceTour[i]] = referenceTour[j];
+			referencePrevious[referenceTour[j]] = referenceTour[i];
+		}
+
+		int[] added = scratch.added;
+		int[] removed = scratch.removed;
+		int numberOfAdded = 0;
+		int numberOfRemoved = 0;
+		for (int u = 0; u < n; u++) {
+			int v = next[u];
+			if (referenceNext[u] != v && !(symmetric && referencePrevious[u] == v)) {
+				added[numberOfAdded++] = u;
+			}
+			v = referenceNext[u];
+			if (next[u] != v && !(symmetric && previous[u] == v)) {
+				removed[numberOfRemoved++] = u;
+			}
+		}
+		if (numberOfAdded * 2 >= n) {
+			return evaluate(solution);
+		}
+
+		for (int j = 0; j < M; j++) {
+			double[][] mapJ = map[j];
+			double delta = 0;
+			for (int e = 0; e < numberOfAdded; e++) {
+				delta += mapJ[added[e]][next[added[e]]];
+			}
+			for (int e = 0; e < numberOfRemoved; e++) {
+				delta -= mapJ[removed[e]][referenceNext[removed[e]]];
+			}
+			objectives[j] = reference.objectives()[j] + delta;
+		}
+		return solution;
+	}
+
+	/**
+	 * Updates the objectives of an evaluated solution whose segment [i, j] has just been reversed
+	 * (an inversion or 2-opt move, e.g. {@link operators.InversionMutation}): on symmetric matrices
+	 * only the two edges at the ends of the segment change, which takes O(M). On asymmetric ones, and
+	 * in single precision, the solution is evaluated again.
+	 */
+	public void evaluateInversion(PermutationSolution<Integer> solution, int i, int j) {
+		if (i > j) {
+			int temp = i;
+			i = j;
+			j = temp;
+		}
+		if (!isSymmetric() || isRounded()) {
+			evaluate(solution);
+			return;
+		}
+		double[] objectives = solution.objectives();
+		updateInversion(toArray(solution), i, j, objectives, objectives);
+	}
+
+	/** Whether the complete evaluation reads distances rounded to float, see {@link #setMatrixLayout(MatrixLayout, boolean)} */
+	private boolean isRounded() {
+		return singlePrecision && layout != MatrixLayout.JAGGED;
+	}
+
+	/** Whether tour[first..last] is referenceTour[first..last] reversed */
+	private static boolean isReversed(int[] tour, int[] referenceTour, int first, int last) {
+		for (int i = first, j = last; i <= last; i++, j--) {
+			if (tour[i] != referenceTour[j]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * objectives = referenceObjectives + the change of the two edges at the ends of the segment
+	 * [i, j] of tour, reversed with respect to the reference (symmetric matrices only)
+	 */
+	private void updateInversion(int[] tour, int i, int j, double[] referenceObjectives, double[] objectives) {
+		if (i == j || j - i + 1 >= n) {
+			// reversing a single city or the whole tour gives the same cycle
+			System.arraycopy(referenceObjectives, 0, objectives, 0, M);
+			return;
+		}
+		int before = tour[i == 0 ? n - 1 : i - 1];
+		int first = tour[i];
+		int last = tour[j];
+		int after = tour[j == n - 1 ? 0 : j + 1];
+		// in the reference the segment was [last ... first]
+		for (int k = 0; k < M; k++) {
+			double[][] mapK = map[k];
+			objectives[k] = referenceObjectives[k] + mapK[before][first] + mapK[last][after] - mapK[before][last]
+					- mapK[first][after];
+		}
+	}
+
+	/** Successors, predecessors and changed edges of the delta evaluation, reused by each thread */
+	private static final class Scratch {
+		int[] next = new int[0];
+		int[] previous = new int[0];
+		int[] referenceNext = new int[0];
+		int[] referencePrevious = new int[0];
+		int[] added = new int[0];
+		int[] removed = new int[0];
+
+		/** Makes room for tours of n cities */
+		Scratch ensure(int n) {
+			if (next.length < n) {
+				next = new int[n];
+				previous = new int[n];
+				referenceNext = new int[n];
+				referencePrevious = new int[n];
+				added = new int[n];
+				removed = new int[n];
+			}
+			return this;
+		}
+	}
+
+	private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+	/**
+	 * Whether all the distance matrices are symmetric. Checked once, after the matrices are loaded or
+	 * generated.
+	 */
+	public boolean isSymmetric() {
+		Boolean result = symmetric;
+		if (result == null) {
+			result = true;
+			for (int k = 0; k < M && result; k++) {
+				for (int i = 0; i < n && result; i++) {
+					for (int j = i + 1; j < n; j++) {
+						if (map[k][i][j] != map[k][j][i]) {
+							result = false;
+							break;
+						}
+					}
+				}
+			}
+			symmetric = result;
+		}
+		return result;
+	}
+
+	/** The permutation as an int array; the array of an {@link IntArrayPermutationSolution} itself, so read only */
+	private static int[] toArray(PermutationSolution<Integer> solution) {
+		if (solution instanceof IntArrayPermutationSolution) {
+			return ((IntArrayPermutationSolution) solution).getPermutation();
+		}
+		int n = solution.variables().size();
+		int[] tour = new int[n];
+		for (int i = 0; i < n; i++) {
+			tour[i] = solution.variables().get(i);
+		}
+		return tour;
+	}
+
 }
@@ -0,0 +1,64 @@
+package problems;
+
+import core.JMetalException;
+
+/**
+ * Memory layout of the matrices of {@link MOTSP} and {@link MOQAP} used by their full evaluation
+ * (see their {@code setMatrixLayout} methods). The jagged arrays of the problems stay the reference
+ * data; the other layouts are flat copies of them, in double or in single precision.
+ */
+public enum MatrixLayout {
+	/** The double[M][n][n] arrays of the problem, one array object per row */
+	JAGGED,
+	/** One flat array, the matrix of each objective after the other, row-major: [k][i][j] */
+	ROW_MAJOR,
+	/**
+	 * One flat array with the values of all the objectives next to each other: [i][j][k], so the M
+	 * values of a pair (i, j) are in the same cache line
+	 */
+	INTERLEAVED;
+
+	/** Copies the M matrices of size n x n in a flat array in this layout */
+	double[] flatten(double[][][] matrices) {
+		int M = matrices.length;
+		int n = matrices[0].length;
+		double[] flat = new double[size(M, n)];
+		for (int k = 0; k < M; k++) {
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					flat[index(M, n, k, i, j)] = matrices[k][i][j];
+				}
+			}
+		}
+		return flat;
+	}
+
+	/** Same as {@link #flatten(double[][][])}, rounding the values to single precision */
+	float[] flattenToFloat(double[][][] matrices) {
+		int M = matrices.length;
+		int n = matrices[0].length;
+		float[] flat = new float[size(M, n)];
+		for (int k = 0; k < M; k++) {
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					flat[index(M, n, k, i, j)] = (float) matrices[k][i][j];
+				}
+			}
+		}
+		return flat;
+	}
+
+	private int index(int M, int n, int k, int i, int j) {
+		return this == INTERLEAVED ? (i * n + j) * M + k : (k * n + i) * n + j;
+	}
+
+	private int size(int M, int n) {
+		if (this == JAGGED) {
+			throw new JMetalException("The jagged layout has no flat array");
+		}
+		if ((long) M * n * n > Integer.MAX_VALUE) {
+			throw new JMetalException("Matrices too large for a flat array: " + M + " x " + n + " x " + n);
+		}
+		return M * n * n;
+	}
+}
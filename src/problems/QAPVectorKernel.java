@@ -0,0 +1,93 @@
+package problems;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Full evaluation of {@link MOQAP} with the Vector API: the costs of all the objectives are
+ * accumulated in a single pass over each row of the distance matrix, each vector of distances being
+ * multiplied with the flows gathered from the row of every objective at the positions of the
+ * permutation. Only loaded by MOQAP when the jdk.incubator.vector module is available.
+ */
+final class QAPVectorKernel {
+	/**
+	 * Preferred species, at most 256 bits: the 512-bit gathers crash the C2 compiler of JDK 21.0.1 on
+	 * AVX-512 processors
+	 */
+	static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED.vectorBitSize() > 256
+			? DoubleVector.SPECIES_256
+			: DoubleVector.SPECIES_PREFERRED;
+
+	private QAPVectorKernel() {
+	}
+
+	static void evaluate(int[] perm, double[][] distance, double[][][] flows, double[] objectives) {
+		if (flows.length == 2) {
+			evaluate2(perm, distance, flows[0], flows[1], objectives);
+			return;
+		}
+		final int n = perm.length;
+		final int M = flows.length;
+		final int length = SPECIES.length();
+		final int bound = SPECIES.loopBound(n);
+		DoubleVector[] costs = new DoubleVector[M];
+		double[] tails = new double[M];
+		for (int k = 0; k < M; k++) {
+			costs[k] = DoubleVector.zero(SPECIES);
+		}
+		for (int i = 0; i < n; i++) {
+			final int pi = perm[i];
+			final double[] distanceI = distance[i];
+			int j = 0;
+			for (; j < bound; j += length) {
+				DoubleVector d = DoubleVector.fromArray(SPECIES, distanceI, j);
+				for (int k = 0; k < M; k++) {
+					costs[k] = DoubleVector.fromArray(SPECIES, flows[k][pi], 0, perm, j).fma(d, costs[k]);
+				}
+			}
+			for (; j < n; j++) {
+				final double d = distanceI[j];
+				final int pj = perm[j];
+				for (int k = 0; k < M; k++) {
+					tails[k] += d * flows[k][pi][pj];
+				}
+			}
+		}
+		for (int k = 0; k < M; k++) {
+			objectives[k] = costs[k].reduceLanes(VectorOperators.ADD) + tails[k];
+		}
+	}
+
+	/** Bi-objective case, with the accumulators in registers */
+	private static void evaluate2(int[] perm, double[][] distance, double[][] flows0, double[][] flows1,
+			double[] objectives) {
+		final int n = perm.length;
+		final int length = SPECIES.length();
+		final int bound = SPECIES.loopBound(n);
+		DoubleVector cost0 = DoubleVector.zero(SPECIES);
+		DoubleVector cost1 = DoubleVector.zero(SPECIES);
+		double tail0 = 0.0;
+		double tail1 = 0.0;
+		for (int i = 0; i < n; i++) {
+			final int pi = perm[i];
+			final double[] distanceI = distance[i];
+			final double[] flow0 = flows0[pi];
+			final double[] flow1 = flows1[pi];
+			int j = 0;
+			for (; j < bound; j += length) {
+				DoubleVector d = DoubleVector.fromArray(SPECIES, distanceI, j);
+				cost0 = DoubleVector.fromArray(SPECIES, flow0, 0, perm, j).fma(d, cost0);
+				cost1 = DoubleVector.fromArray(SPECIES, flow1, 0, perm, j).fma(d, cost1);
+			}
+			for (; j < n; j++) {
+				final double d = distanceI[j];
+				final int pj = perm[j];
+				tail0 += d * flow0[pj];
+				tail1 += d * flow1[pj];
+			}
+		}
+		objectives[0] = cost0.reduceLanes(VectorOperators.ADD) + tail0;
+		objectives[1] = cost1.reduceLanes(VectorOperators.ADD) + tail1;
+	}
+}